@@ -1,10 +1,19 @@
 package com.xeenaa.villagepicker;
 
+import com.xeenaa.villagepicker.client.network.ClientPacketHandler;
+import com.xeenaa.villagepicker.client.network.InFlightRequests;
+import com.xeenaa.villagepicker.client.util.BatchSelection;
 import com.xeenaa.villagepicker.client.util.ClientInteractionHandler;
+import com.xeenaa.villagepicker.client.util.ClientReloadTracker;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.fabricmc.fabric.api.event.player.UseEntityCallback;
+import net.minecraft.client.option.KeyBinding;
+import net.minecraft.client.util.InputUtil;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.util.ActionResult;
+import org.lwjgl.glfw.GLFW;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,12 +27,29 @@ public class XeenaaVillagePickerClient implements ClientModInitializer {
         // Register villager interaction event for GUI opening
         UseEntityCallback.EVENT.register((player, world, hand, entity, hitResult) -> {
             if (entity instanceof VillagerEntity villager) {
-                CLIENT_LOGGER.info("UseEntityCallback: Villager interaction detected on client");
+                CLIENT_LOGGER.debug("UseEntityCallback: Villager interaction detected on client");
                 return ClientInteractionHandler.handleVillagerInteraction(villager, player, hand);
             }
             return ActionResult.PASS;
         });
 
         CLIENT_LOGGER.info("Client-side villager interaction handler registered");
+
+        // Register batch mode key binding (shift + right-click collects villagers while active)
+        KeyBinding batchModeKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.xeenaa_village_picker.batch_mode", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_B,
+            "category.xeenaa_village_picker"));
+        ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            while (batchModeKey.wasPressed()) {
+                BatchSelection.toggle();
+            }
+            InFlightRequests.expire();
+        });
+
+        // Track resource reloads so client-side text and render caches can be invalidated
+        ClientReloadTracker.register();
+
+        // Register client-side packet handlers
+        ClientPacketHandler.registerHandlers();
     }
 }
\ No newline at end of file
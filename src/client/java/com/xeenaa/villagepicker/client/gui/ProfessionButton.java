@@ -1,5 +1,6 @@
 package com.xeenaa.villagepicker.client.gui;
 
+import com.xeenaa.villagepicker.client.util.ClientReloadTracker;
 import com.xeenaa.villagepicker.registry.ProfessionData;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
@@ -9,51 +10,124 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 
 /**
- * Custom button widget for displaying professions with icons
+ * Custom button widget for displaying professions with icons.
+ * Buttons can be rebound to a different profession so a scrolling grid can reuse them.
  */
 public class ProfessionButton extends ButtonWidget {
-    private final ProfessionData professionData;
-    private final ItemStack icon;
+    private ProfessionData professionData;
+    private ItemStack icon = ItemStack.EMPTY;
+    private int clipTop = Integer.MIN_VALUE;
+    private int clipBottom = Integer.MAX_VALUE;
+
+    // Cached display string and the inputs it was computed for
+    private String displayString;
+    private int displayWidth;
+    private String displayLanguage;
+    private int displayGeneration;
 
     public ProfessionButton(int x, int y, int width, int height, ProfessionData professionData, PressAction onPress) {
         super(x, y, width, height, Text.empty(), onPress, DEFAULT_NARRATION_SUPPLIER); // Use empty text to avoid duplicate
+        bind(professionData);
+    }
+
+    /**
+     * Show a different profession on this button; null leaves the button empty
+     */
+    public void bind(ProfessionData professionData) {
+        if (this.professionData == professionData) {
+            return;
+        }
         this.professionData = professionData;
-        this.icon = professionData.getIcon();
+        this.icon = professionData != null ? ProfessionPresentation.of(professionData).getIcon() : ItemStack.EMPTY;
+        this.displayString = null;
+    }
+
+    /**
+     * Restrict clicks to the given vertical range, so rows scrolled partially out of view
+     * cannot be clicked through their hidden part
+     */
+    public void setClip(int top, int bottom) {
+        this.clipTop = top;
+        this.clipBottom = bottom;
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (professionData == null || mouseY < clipTop || mouseY >= clipBottom) {
+            return false;
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
     }
 
     @Override
     public void renderWidget(DrawContext context, int mouseX, int mouseY, float delta) {
+        if (professionData == null) {
+            return;
+        }
+
         // Render the button background first
         super.renderWidget(context, mouseX, mouseY, delta);
 
-        // Draw the icon on the left side of the button
-        if (!icon.isEmpty()) {
-            int iconX = this.getX() + 4; // 4px padding from left
-            int iconY = this.getY() + (this.getHeight() - 16) / 2; // Center vertically
-            context.drawItem(icon, iconX, iconY);
-        }
+        // The icon is drawn by the grid from the shared icon atlas, see ProfessionIconAtlas
 
         // Draw the profession name next to the icon with pixel-perfect positioning
         TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
-        Text displayText = professionData.getTranslatedName();
         int textColor = this.active ? 0xFFFFFF : 0xA0A0A0;
 
         // Calculate exact text position (after icon + padding)
         int textX = this.getX() + 24; // 4px margin + 16px icon + 4px padding
         int textY = this.getY() + (this.getHeight() - textRenderer.fontHeight) / 2;
 
+        // Render text without shadow for crisp appearance
+        context.drawText(textRenderer, getDisplayString(textRenderer), textX, textY, textColor, false);
+    }
+
+    /**
+     * Get the profession name, truncated to fit the button. The result is cached until the
+     * profession, button width, language or client resources change, so steady-state frames
+     * neither resolve the translation nor measure text.
+     */
+    private String getDisplayString(TextRenderer textRenderer) {
+        String language = MinecraftClient.getInstance().getLanguageManager().getLanguage();
+        int generation = ClientReloadTracker.getGeneration();
+        if (displayString != null && displayWidth == this.getWidth() && displayGeneration == generation
+                && language.equals(displayLanguage)) {
+            return displayString;
+        }
+
         // Ensure text fits in button by truncating if necessary
         int maxTextWidth = this.getWidth() - 28; // Account for icon and padding
-        String displayString = displayText.getString();
-        if (textRenderer.getWidth(displayString) > maxTextWidth) {
-            displayString = textRenderer.trimToWidth(displayString, maxTextWidth - textRenderer.getWidth("...")) + "...";
+        String text = ProfessionPresentation.of(professionData).getTranslatedName().getString();
+        if (textRenderer.getWidth(text) > maxTextWidth) {
+            text = textRenderer.trimToWidth(text, maxTextWidth - textRenderer.getWidth("...")) + "...";
         }
 
-        // Render text without shadow for crisp appearance
-        context.drawText(textRenderer, displayString, textX, textY, textColor, false);
+        displayString = text;
+        displayWidth = this.getWidth();
+        displayLanguage = language;
+        displayGeneration = generation;
+        return text;
+    }
+
+    public ItemStack getIcon() {
+        return icon;
+    }
+
+    /**
+     * Left edge of the icon, 4px padding from the left of the button
+     */
+    public int getIconX() {
+        return this.getX() + 4;
+    }
+
+    /**
+     * Top edge of the icon, centered vertically
+     */
+    public int getIconY() {
+        return this.getY() + (this.getHeight() - 16) / 2;
     }
 
     public ProfessionData getProfessionData() {
         return professionData;
     }
-}
\ No newline at end of file
+}
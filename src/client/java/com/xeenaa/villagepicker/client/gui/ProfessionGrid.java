@@ -0,0 +1,187 @@
+package com.xeenaa.villagepicker.client.gui;
+
+import com.xeenaa.villagepicker.client.network.ClientCatalogState;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Virtualized, scrollable grid of profession buttons.
+ * <p>
+ * Only enough buttons to cover the visible rows (plus one partially visible row) are created.
+ * While scrolling, the same buttons are moved and rebound to other entries, so creation and
+ * render cost depend on the viewport size, not on the number of professions. Icons of all visible
+ * buttons are drawn in one batch from {@link ProfessionIconAtlas}.
+ */
+public class ProfessionGrid {
+    private static final int SCROLLBAR_WIDTH = 6;
+
+    private final int columns;
+    private final int buttonWidth;
+    private final int buttonHeight;
+    private final int spacing;
+    private final List<ProfessionButton> pool = new ArrayList<>();
+
+    private List<ProfessionData> entries = List.of();
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+    private double scrollAmount = 0;
+    private boolean draggingScrollbar = false;
+
+    public ProfessionGrid(int columns, int buttonWidth, int buttonHeight, int spacing) {
+        this.columns = columns;
+        this.buttonWidth = buttonWidth;
+        this.buttonHeight = buttonHeight;
+        this.spacing = spacing;
+    }
+
+    /**
+     * Set the viewport and make sure enough pooled buttons exist to cover it
+     *
+     * @return the pooled buttons, for registering them as screen children
+     */
+    public List<ProfessionButton> setBounds(int x, int y, int width, int height, ButtonWidget.PressAction onPress) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+
+        int poolSize = (Math.ceilDiv(height, rowHeight()) + 1) * columns;
+        while (pool.size() < poolSize) {
+            pool.add(new ProfessionButton(x, y, buttonWidth, buttonHeight, null, onPress));
+        }
+
+        setScrollAmount(scrollAmount);
+        return pool;
+    }
+
+    /**
+     * Replace the displayed entries and scroll back to the top
+     */
+    public void setEntries(List<ProfessionData> entries) {
+        this.entries = entries;
+        setScrollAmount(0);
+    }
+
+    public List<ProfessionData> getEntries() {
+        return entries;
+    }
+
+    public List<ProfessionButton> getButtons() {
+        return pool;
+    }
+
+    private int rowHeight() {
+        return buttonHeight + spacing;
+    }
+
+    private int rowCount() {
+        return Math.ceilDiv(entries.size(), columns);
+    }
+
+    private int maxScroll() {
+        return Math.max(0, rowCount() * rowHeight() - spacing - height);
+    }
+
+    public void setScrollAmount(double amount) {
+        scrollAmount = MathHelper.clamp(amount, 0, maxScroll());
+        layoutButtons();
+    }
+
+    /**
+     * Move pooled buttons to the rows under the current scroll position and bind them to their entries
+     */
+    private void layoutButtons() {
+        int scroll = (int) scrollAmount;
+        int firstRow = scroll / rowHeight();
+        int poolRows = pool.size() / Math.max(1, columns);
+
+        for (int poolRow = 0; poolRow < poolRows; poolRow++) {
+            int row = firstRow + poolRow;
+            int buttonY = y + row * rowHeight() - scroll;
+
+            for (int col = 0; col < columns; col++) {
+                ProfessionButton button = pool.get(poolRow * columns + col);
+                int index = row * columns + col;
+                boolean inView = index < entries.size() && buttonY < y + height;
+
+                button.setPosition(x + col * (buttonWidth + spacing), buttonY);
+                button.setClip(y, y + height);
+                button.bind(inView ? entries.get(index) : null);
+                button.visible = inView;
+            }
+        }
+    }
+
+    /**
+     * Render the visible buttons clipped to the viewport, plus the scrollbar
+     */
+    public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        // The atlas may render into its own framebuffer, so it is prepared before scissoring
+        context.draw();
+        ProfessionIconAtlas.prepare(ClientCatalogState.getCatalog());
+
+        context.enableScissor(x, y, x + width, y + height);
+        for (ProfessionButton button : pool) {
+            if (button.visible) {
+                button.render(context, mouseX, mouseY, delta);
+            }
+        }
+        ProfessionIconAtlas.drawIcons(context, pool);
+        context.disableScissor();
+
+        if (maxScroll() > 0) {
+            int trackX = scrollbarX();
+            int thumbHeight = Math.max(16, height * height / (height + maxScroll()));
+            int thumbY = y + (int) (scrollAmount * (height - thumbHeight) / maxScroll());
+            context.fill(trackX, y, trackX + SCROLLBAR_WIDTH, y + height, 0xFF1A1A1A);
+            context.fill(trackX, thumbY, trackX + SCROLLBAR_WIDTH, thumbY + thumbHeight, 0xFF8B8B8B);
+        }
+    }
+
+    private int scrollbarX() {
+        return x + width - SCROLLBAR_WIDTH;
+    }
+
+    public boolean isMouseOver(double mouseX, double mouseY) {
+        return mouseX >= x && mouseX < x + width && mouseY >= y && mouseY < y + height;
+    }
+
+    public boolean mouseScrolled(double mouseX, double mouseY, double verticalAmount) {
+        if (!isMouseOver(mouseX, mouseY) || maxScroll() == 0) {
+            return false;
+        }
+        setScrollAmount(scrollAmount - verticalAmount * rowHeight() / 2.0);
+        return true;
+    }
+
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        draggingScrollbar = button == 0 && maxScroll() > 0 && isMouseOver(mouseX, mouseY) && mouseX >= scrollbarX();
+        if (draggingScrollbar) {
+            scrollToMouse(mouseY);
+        }
+        return draggingScrollbar;
+    }
+
+    public boolean mouseDragged(double mouseX, double mouseY) {
+        if (!draggingScrollbar) {
+            return false;
+        }
+        scrollToMouse(mouseY);
+        return true;
+    }
+
+    public void mouseReleased() {
+        draggingScrollbar = false;
+    }
+
+    private void scrollToMouse(double mouseY) {
+        setScrollAmount((mouseY - y) / height * (maxScroll() + height) - height / 2.0);
+    }
+}
@@ -0,0 +1,202 @@
+package com.xeenaa.villagepicker.client.gui;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.systems.VertexSorter;
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.client.util.ClientReloadTracker;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.SimpleFramebuffer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.BuiltBuffer;
+import net.minecraft.client.render.DiffuseLighting;
+import net.minecraft.client.render.GameRenderer;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fStack;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders every distinct profession icon once into an offscreen framebuffer, so the grid can draw all
+ * visible icons as textured quads in a single batch instead of one item model render per button.
+ * <p>
+ * The atlas is rebuilt when the catalog, GUI scale or client resources change, and released when the
+ * selection screen is removed or the client disconnects. Must only be used on the render thread.
+ */
+public final class ProfessionIconAtlas {
+    private static final int ICON_SIZE = 16;
+    private static final int COLUMNS = 16;
+
+    private static SimpleFramebuffer framebuffer;
+    private static Map<Item, Integer> slots = Map.of();
+    private static int rows;
+    private static ProfessionCatalog builtCatalog;
+    private static double builtScale;
+    private static int builtGeneration = -1;
+
+    private ProfessionIconAtlas() {
+    }
+
+    /**
+     * Make sure the atlas matches the given catalog, current GUI scale and resources.
+     * Must be called outside of any scissor or framebuffer redirection, before the icons are drawn.
+     */
+    public static void prepare(ProfessionCatalog catalog) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        double scale = client.getWindow().getScaleFactor();
+        int generation = ClientReloadTracker.getGeneration();
+        if (builtCatalog == catalog && builtScale == scale && builtGeneration == generation) {
+            return;
+        }
+
+        release();
+        builtCatalog = catalog;
+        builtScale = scale;
+        builtGeneration = generation;
+        build(client, catalog, scale);
+    }
+
+    private static void build(MinecraftClient client, ProfessionCatalog catalog, double scale) {
+        Map<Item, Integer> itemSlots = new IdentityHashMap<>();
+        List<ItemStack> stacks = new ArrayList<>();
+        for (ProfessionData data : catalog.all()) {
+            ItemStack icon = ProfessionPresentation.of(data).getIcon();
+            if (!icon.isEmpty() && !itemSlots.containsKey(icon.getItem())) {
+                itemSlots.put(icon.getItem(), stacks.size());
+                stacks.add(icon);
+            }
+        }
+        if (stacks.isEmpty()) {
+            return;
+        }
+
+        int slotPixels = (int) Math.ceil(ICON_SIZE * scale);
+        int atlasRows = Math.ceilDiv(stacks.size(), COLUMNS);
+        int width = COLUMNS * slotPixels;
+        int height = atlasRows * slotPixels;
+        if (height > RenderSystem.maxSupportedTextureSize()) {
+            XeenaaVillagePicker.LOGGER.warn("Too many profession icons ({}) for an icon atlas, drawing them individually",
+                stacks.size());
+            return;
+        }
+
+        SimpleFramebuffer target = new SimpleFramebuffer(width, height, true, MinecraftClient.IS_SYSTEM_MAC);
+        target.setClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+        target.clear(MinecraftClient.IS_SYSTEM_MAC);
+        target.beginWrite(true);
+
+        // Same GUI projection the game uses, sized to the atlas
+        Matrix4f projection = RenderSystem.getProjectionMatrix();
+        VertexSorter sorting = RenderSystem.getVertexSorting();
+        RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0.0F, (float) (width / scale),
+            (float) (height / scale), 0.0F, 1000.0F, 21000.0F), VertexSorter.BY_Z);
+        Matrix4fStack modelView = RenderSystem.getModelViewStack();
+        modelView.pushMatrix();
+        modelView.translation(0.0F, 0.0F, -11000.0F);
+        RenderSystem.applyModelViewMatrix();
+        DiffuseLighting.enableGuiDepthLighting();
+
+        DrawContext context = new DrawContext(client, client.getBufferBuilders().getEntityVertexConsumers());
+        float slotSize = (float) (slotPixels / scale);
+        for (int i = 0; i < stacks.size(); i++) {
+            context.getMatrices().push();
+            context.getMatrices().translate((i % COLUMNS) * slotSize, (i / COLUMNS) * slotSize, 0.0F);
+            context.drawItem(stacks.get(i), 0, 0);
+            context.getMatrices().pop();
+        }
+        context.draw();
+
+        modelView.popMatrix();
+        RenderSystem.applyModelViewMatrix();
+        RenderSystem.setProjectionMatrix(projection, sorting);
+        client.getFramebuffer().beginWrite(true);
+
+        framebuffer = target;
+        slots = itemSlots;
+        rows = atlasRows;
+        XeenaaVillagePicker.LOGGER.debug("Built profession icon atlas with {} icons ({}x{} px)", stacks.size(), width, height);
+    }
+
+    /**
+     * Draw the icons of all visible buttons. Icons in the atlas go out as one quad batch;
+     * anything missing from it falls back to a regular item render.
+     */
+    public static void drawIcons(DrawContext context, List<ProfessionButton> buttons) {
+        List<ProfessionButton> fallback = null;
+
+        if (framebuffer != null) {
+            Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
+            BufferBuilder buffer = Tessellator.getInstance().begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
+            for (ProfessionButton button : buttons) {
+                ItemStack icon = button.getIcon();
+                if (!button.visible || icon.isEmpty()) {
+                    continue;
+                }
+                Integer slot = slots.get(icon.getItem());
+                if (slot == null) {
+                    if (fallback == null) {
+                        fallback = new ArrayList<>();
+                    }
+                    fallback.add(button);
+                    continue;
+                }
+
+                float x = button.getIconX();
+                float y = button.getIconY();
+                float u0 = (float) (slot % COLUMNS) / COLUMNS;
+                float u1 = (float) (slot % COLUMNS + 1) / COLUMNS;
+                // Framebuffer rows are stored bottom-up
+                float v0 = 1.0F - (float) (slot / COLUMNS) / rows;
+                float v1 = 1.0F - (float) (slot / COLUMNS + 1) / rows;
+                buffer.vertex(matrix, x, y, 0.0F).texture(u0, v0);
+                buffer.vertex(matrix, x, y + ICON_SIZE, 0.0F).texture(u0, v1);
+                buffer.vertex(matrix, x + ICON_SIZE, y + ICON_SIZE, 0.0F).texture(u1, v1);
+                buffer.vertex(matrix, x + ICON_SIZE, y, 0.0F).texture(u1, v0);
+            }
+
+            BuiltBuffer built = buffer.endNullable();
+            if (built != null) {
+                RenderSystem.setShader(GameRenderer::getPositionTexProgram);
+                RenderSystem.setShaderTexture(0, framebuffer.getColorAttachment());
+                RenderSystem.enableBlend();
+                RenderSystem.defaultBlendFunc();
+                BufferRenderer.drawWithGlobalProgram(built);
+                RenderSystem.disableBlend();
+            }
+        } else {
+            fallback = buttons;
+        }
+
+        if (fallback != null) {
+            for (ProfessionButton button : fallback) {
+                if (button.visible && !button.getIcon().isEmpty()) {
+                    context.drawItem(button.getIcon(), button.getIconX(), button.getIconY());
+                }
+            }
+        }
+    }
+
+    /**
+     * Free the framebuffer; the next {@link #prepare} rebuilds it
+     */
+    public static void release() {
+        if (framebuffer != null) {
+            framebuffer.delete();
+            framebuffer = null;
+        }
+        slots = Map.of();
+        rows = 0;
+        builtCatalog = null;
+    }
+}
@@ -0,0 +1,121 @@
+package com.xeenaa.villagepicker.client.gui;
+
+import com.xeenaa.villagepicker.client.network.ClientCatalogState;
+import com.xeenaa.villagepicker.client.util.ClientReloadTracker;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.text.Text;
+import net.minecraft.util.Language;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Client-only display data of a profession: its translated name and icon.
+ * <p>
+ * {@link ProfessionData} only carries what both sides need; presentations are created on first use
+ * and cached by catalog index for the current client catalog until it or the client resources change.
+ * Must be used on the render thread.
+ */
+public final class ProfessionPresentation {
+    private static ProfessionCatalog cachedCatalog;
+    private static int cachedGeneration;
+    private static ProfessionPresentation[] cached = new ProfessionPresentation[0];
+
+    private final Text translatedName;
+    private final ItemStack icon;
+
+    private ProfessionPresentation(ProfessionData data) {
+        this.translatedName = createDisplayName(data);
+        this.icon = createIcon(data.getWorkstation());
+    }
+
+    /**
+     * Get the presentation of a profession, creating it on first use
+     */
+    public static ProfessionPresentation of(ProfessionData data) {
+        ProfessionCatalog catalog = ClientCatalogState.getCatalog();
+        int index = data.getIndex();
+        if (catalog.get(index) != data) {
+            // Not part of the current catalog, nothing to cache it against
+            return new ProfessionPresentation(data);
+        }
+
+        int generation = ClientReloadTracker.getGeneration();
+        if (catalog != cachedCatalog || generation != cachedGeneration) {
+            cachedCatalog = catalog;
+            cachedGeneration = generation;
+            cached = new ProfessionPresentation[catalog.size()];
+        }
+
+        ProfessionPresentation presentation = cached[index];
+        if (presentation == null) {
+            presentation = new ProfessionPresentation(data);
+            cached[index] = presentation;
+        }
+        return presentation;
+    }
+
+    /**
+     * Get the translated display name for the profession
+     */
+    public Text getTranslatedName() {
+        return translatedName;
+    }
+
+    /**
+     * Get the icon ItemStack for GUI display
+     */
+    public ItemStack getIcon() {
+        return icon;
+    }
+
+    /**
+     * Create display icon for the profession
+     * Uses workstation item if available, otherwise an emerald
+     */
+    private static ItemStack createIcon(Block workstation) {
+        if (workstation != null) {
+            Item workstationItem = workstation.asItem();
+            if (workstationItem != Items.AIR) {
+                return new ItemStack(workstationItem);
+            }
+        }
+
+        // Use emerald as default icon for any profession without a workstation
+        return new ItemStack(Items.EMERALD);
+    }
+
+    /**
+     * Get the display name for a profession, formatted from its id if there is no translation
+     */
+    private static Text createDisplayName(ProfessionData data) {
+        String translationKey = data.getId() != null
+            ? "entity.minecraft.villager." + data.getId().getPath()
+            : "entity.minecraft.villager.unknown";
+
+        if (!Language.getInstance().hasTranslation(translationKey)) {
+            return Text.literal(formatProfessionName(data.getName()));
+        }
+        return Text.translatable(translationKey);
+    }
+
+    /**
+     * Format profession name for display (capitalize and replace underscores)
+     */
+    private static String formatProfessionName(String name) {
+        if (name == null || name.isEmpty()) {
+            return "Unknown";
+        }
+
+        return Arrays.stream(name.split("_"))
+            .filter(word -> !word.isEmpty())
+            .map(word -> word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1).toLowerCase(Locale.ROOT))
+            .collect(Collectors.joining(" "));
+    }
+}
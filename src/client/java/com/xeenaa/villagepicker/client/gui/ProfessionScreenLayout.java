@@ -0,0 +1,50 @@
+package com.xeenaa.villagepicker.client.gui;
+
+/**
+ * Positions of every element of {@link ProfessionSelectionScreen}, computed by a pure function of
+ * the screen size. The last result is cached, so repeated init() calls for the
+ * same size (e.g. GUI scale toggles that land on the same scaled size) do no layout work.
+ */
+public record ProfessionScreenLayout(
+    int screenWidth,
+    int screenHeight,
+    Rect panel,
+    Rect searchField,
+    Rect filterButton,
+    Rect grid,
+    Rect closeButton
+) {
+    public static final int BACKGROUND_WIDTH = 380;
+    public static final int BACKGROUND_HEIGHT = 240; // Reduced height to fit content better
+    private static final int GRID_HEIGHT = 140;
+
+    private static ProfessionScreenLayout cached;
+
+    public record Rect(int x, int y, int width, int height) {}
+
+    /**
+     * Get the layout for a screen size
+     */
+    public static ProfessionScreenLayout of(int screenWidth, int screenHeight) {
+        ProfessionScreenLayout layout = cached;
+        if (layout == null || layout.screenWidth != screenWidth || layout.screenHeight != screenHeight) {
+            layout = compute(screenWidth, screenHeight);
+            cached = layout;
+        }
+        return layout;
+    }
+
+    private static ProfessionScreenLayout compute(int screenWidth, int screenHeight) {
+        // Calculate centered position
+        int x = (screenWidth - BACKGROUND_WIDTH) / 2;
+        int y = (screenHeight - BACKGROUND_HEIGHT) / 2;
+
+        return new ProfessionScreenLayout(screenWidth, screenHeight,
+            new Rect(x, y, BACKGROUND_WIDTH, BACKGROUND_HEIGHT),
+            new Rect(x + 10, y + 22, 240, 14),
+            new Rect(x + BACKGROUND_WIDTH - 120, y + 20, 110, 18),
+            // Start below title and search row, 10px left/right margin
+            new Rect(x + 10, y + 55, BACKGROUND_WIDTH - 20, GRID_HEIGHT),
+            new Rect(x + BACKGROUND_WIDTH - 80, y + BACKGROUND_HEIGHT - 30, 70, 20));
+    }
+}
@@ -1,89 +1,128 @@
 package com.xeenaa.villagepicker.client.gui;
 
 import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.client.network.ClientAllowedProfessions;
+import com.xeenaa.villagepicker.client.network.ClientCatalogState;
+import com.xeenaa.villagepicker.client.network.InFlightRequests;
+import com.xeenaa.villagepicker.client.search.ProfessionSearchIndex;
+import com.xeenaa.villagepicker.client.util.BatchSelection;
+import com.xeenaa.villagepicker.network.BatchSelectProfessionPacket;
+import com.xeenaa.villagepicker.network.ProfessionReference;
 import com.xeenaa.villagepicker.network.SelectProfessionPacket;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
 import com.xeenaa.villagepicker.registry.ProfessionData;
-import com.xeenaa.villagepicker.registry.ProfessionManager;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.Drawable;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.ClickableWidget;
+import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
 
 public class ProfessionSelectionScreen extends Screen {
-    private static final int BACKGROUND_WIDTH = 380;
-    private static final int BACKGROUND_HEIGHT = 240; // Reduced height to fit content better
-    private static final int BUTTON_WIDTH = 115;
+    private static final int BACKGROUND_WIDTH = ProfessionScreenLayout.BACKGROUND_WIDTH;
+    private static final int BACKGROUND_HEIGHT = ProfessionScreenLayout.BACKGROUND_HEIGHT;
+    private static final int BUTTON_WIDTH = 113;
     private static final int BUTTON_HEIGHT = 24;
     private static final int COLUMNS = 3;
     private static final int BUTTON_SPACING = 5;
 
-    private final VillagerEntity villager;
+    private final java.util.List<VillagerEntity> villagers;
+    private ProfessionScreenLayout layout;
     private ButtonWidget closeButton;
-    private final java.util.List<ProfessionButton> professionButtons = new java.util.ArrayList<>();
+    private ProfessionGrid grid;
+    private TextFieldWidget searchField;
+    private ButtonWidget filterButton;
+    private ProfessionSearchIndex searchIndex;
+    private ProfessionSearchIndex.Query query;
+    private ProfessionSearchIndex.Filter filter = ProfessionSearchIndex.Filter.ALL;
 
     public ProfessionSelectionScreen(VillagerEntity villager) {
+        this(java.util.List.of(villager));
+    }
+
+    /**
+     * Create a screen that assigns the selected profession to every given villager
+     */
+    public ProfessionSelectionScreen(java.util.List<VillagerEntity> villagers) {
         super(Text.translatable("gui.xeenaa_village_picker.profession_selection"));
-        this.villager = villager;
+        this.villagers = java.util.List.copyOf(villagers);
     }
 
     @Override
     protected void init() {
         super.init();
 
-        // Clear existing buttons
-        professionButtons.clear();
-
-        // Calculate centered position
-        int x = (this.width - BACKGROUND_WIDTH) / 2;
-        int y = (this.height - BACKGROUND_HEIGHT) / 2;
-
-        // Add profession buttons in a 3-column grid
-        ProfessionManager manager = ProfessionManager.getInstance();
-        int startX = x + 10; // Left margin
-        int startY = y + 55; // Start below title and villager info
-        int buttonCount = 0;
-        int row = 0;
-        int col = 0;
-
-        for (var professionData : manager.getAllProfessionData()) {
-            if (buttonCount >= 15) break; // Limit to 15 buttons (5 rows x 3 columns)
-
-            // Calculate button position in grid
-            int buttonX = startX + col * (BUTTON_WIDTH + BUTTON_SPACING);
-            int buttonY = startY + row * (BUTTON_HEIGHT + BUTTON_SPACING);
-
-            ProfessionButton professionButton = new ProfessionButton(
-                buttonX, buttonY, BUTTON_WIDTH, BUTTON_HEIGHT,
-                professionData,
-                button -> selectProfession(((ProfessionButton) button).getProfessionData())
-            );
-
-            professionButtons.add(professionButton);
-            this.addDrawableChild(professionButton);
-
-            buttonCount++;
-            col++;
-            if (col >= COLUMNS) {
-                col = 0;
-                row++;
-            }
+        this.layout = ProfessionScreenLayout.of(this.width, this.height);
+
+        // Widgets are created once; on resize init() runs again and they are only moved
+        if (this.grid == null) {
+            createWidgets();
         }
+        positionWidgets();
 
-        // Add close button at bottom
-        this.closeButton = ButtonWidget.builder(Text.translatable("gui.done"), button -> this.close())
-            .dimensions(x + BACKGROUND_WIDTH - 80, y + BACKGROUND_HEIGHT - 30, 70, 20)
-            .build();
+        // Rendered by the grid (clipped to its viewport), only registered here for input
+        for (ProfessionButton professionButton : this.grid.getButtons()) {
+            this.addSelectableChild(professionButton);
+        }
+        this.addDrawableChild(this.searchField);
+        this.addDrawableChild(this.filterButton);
         this.addDrawableChild(this.closeButton);
+        this.setInitialFocus(this.searchField);
+
+        // The server's catalog once synced, so the screen lists exactly what the server accepts
+        ProfessionCatalog catalog = ClientCatalogState.getCatalog();
+        // Results come from the per-catalog search index; only re-run the search if the index changed
+        ProfessionSearchIndex index = ProfessionSearchIndex.forCatalog(catalog,
+            this.client.getLanguageManager().getLanguage());
+        if (index != this.searchIndex) {
+            this.searchIndex = index;
+            this.query = index.newQuery();
+            applySearch();
+        }
+
+        XeenaaVillagePicker.LOGGER.debug("ProfessionSelectionScreen laid out {} profession buttons for {} professions",
+            grid.getButtons().size(), grid.getEntries().size());
+    }
+
+    /**
+     * Create all widgets; called on the first init() only
+     */
+    private void createWidgets() {
+        // Scrollable 3-column grid; only the buttons for visible rows exist
+        this.grid = new ProfessionGrid(COLUMNS, BUTTON_WIDTH, BUTTON_HEIGHT, BUTTON_SPACING);
+
+        // Search field and filter toggle
+        this.searchField = new TextFieldWidget(this.textRenderer, 0, 0, 0, 0,
+            Text.translatable("gui.xeenaa_village_picker.search"));
+        this.searchField.setPlaceholder(Text.translatable("gui.xeenaa_village_picker.search.hint")
+            .formatted(Formatting.GRAY));
+        this.searchField.setChangedListener(text -> applySearch());
 
-        XeenaaVillagePicker.LOGGER.info("ProfessionSelectionScreen initialized with {} profession buttons", professionButtons.size());
+        this.filterButton = ButtonWidget.builder(filterLabel(), button -> cycleFilter()).build();
 
-        // Log profession count for testing
-        ProfessionManager.ProfessionStats stats = ProfessionManager.getInstance().getStats();
-        XeenaaVillagePicker.LOGGER.info("Available professions: {} total ({} vanilla, {} modded)",
-            stats.total(), stats.vanilla(), stats.modded());
+        // Close button at bottom
+        this.closeButton = ButtonWidget.builder(Text.translatable("gui.done"), button -> this.close()).build();
+    }
+
+    /**
+     * Move existing widgets to the current layout, keeping their state (text, scroll position, focus)
+     */
+    private void positionWidgets() {
+        ProfessionScreenLayout.Rect gridRect = layout.grid();
+        this.grid.setBounds(gridRect.x(), gridRect.y(), gridRect.width(), gridRect.height(),
+            button -> selectProfession(((ProfessionButton) button).getProfessionData()));
+        place(this.searchField, layout.searchField());
+        place(this.filterButton, layout.filterButton());
+        place(this.closeButton, layout.closeButton());
+    }
+
+    private static void place(ClickableWidget widget, ProfessionScreenLayout.Rect rect) {
+        widget.setPosition(rect.x(), rect.y());
+        widget.setDimensions(rect.width(), rect.height());
     }
 
     @Override
@@ -91,9 +130,9 @@ public class ProfessionSelectionScreen extends Screen {
         // Render background first
         this.renderBackground(context, mouseX, mouseY, delta);
 
-        // Calculate centered position
-        int x = (this.width - BACKGROUND_WIDTH) / 2;
-        int y = (this.height - BACKGROUND_HEIGHT) / 2;
+        // Panel position from the cached layout
+        int x = layout.panel().x();
+        int y = layout.panel().y();
 
         // Draw main panel
         context.fill(x, y, x + BACKGROUND_WIDTH, y + BACKGROUND_HEIGHT, 0xFF2C2C2C);
@@ -109,17 +148,83 @@ public class ProfessionSelectionScreen extends Screen {
 
 
         // Draw instructions
-        Text instructions = Text.literal("Select a profession:");
+        Text instructions = villagers.size() > 1
+            ? Text.translatable("gui.xeenaa_village_picker.select_for_batch", villagers.size())
+            : Text.literal("Select a profession:");
         context.drawText(this.textRenderer, instructions, x + 10, y + 40, 0xFFAAAAA, true);
 
-        // Render widgets (buttons) last so they appear on top
+        // Render the profession grid, then the remaining widgets on top
+        this.grid.render(context, mouseX, mouseY, delta);
         for (var child : this.children()) {
-            if (child instanceof Drawable drawable) {
+            if (child instanceof Drawable drawable && !(child instanceof ProfessionButton)) {
                 drawable.render(context, mouseX, mouseY, delta);
             }
         }
     }
 
+    /**
+     * Re-run the search for the current text and filter and show the result in the grid,
+     * leaving out professions the server's rules do not allow here
+     */
+    private void applySearch() {
+        java.util.List<ProfessionData> results = this.query.search(this.searchField.getText(), this.filter);
+        results.removeIf(data -> !ClientAllowedProfessions.isAllowed(data));
+        this.grid.setEntries(results);
+    }
+
+    /**
+     * Cycle through all, vanilla, modded and then each modded namespace
+     */
+    private void cycleFilter() {
+        java.util.List<String> namespaces = this.searchIndex.getModdedNamespaces();
+        this.filter = switch (this.filter.kind()) {
+            case ALL -> ProfessionSearchIndex.Filter.VANILLA;
+            case VANILLA -> ProfessionSearchIndex.Filter.MODDED;
+            case MODDED -> namespaces.isEmpty()
+                ? ProfessionSearchIndex.Filter.ALL
+                : ProfessionSearchIndex.Filter.namespace(namespaces.get(0));
+            case NAMESPACE -> {
+                int next = namespaces.indexOf(this.filter.namespace()) + 1;
+                yield next > 0 && next < namespaces.size()
+                    ? ProfessionSearchIndex.Filter.namespace(namespaces.get(next))
+                    : ProfessionSearchIndex.Filter.ALL;
+            }
+        };
+        this.filterButton.setMessage(filterLabel());
+        applySearch();
+    }
+
+    private Text filterLabel() {
+        return switch (this.filter.kind()) {
+            case ALL -> Text.translatable("gui.xeenaa_village_picker.filter.all");
+            case VANILLA -> Text.translatable("gui.xeenaa_village_picker.filter.vanilla");
+            case MODDED -> Text.translatable("gui.xeenaa_village_picker.filter.modded");
+            case NAMESPACE -> Text.literal(this.filter.namespace());
+        };
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
+        return this.grid.mouseScrolled(mouseX, mouseY, verticalAmount)
+            || super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount);
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        return this.grid.mouseClicked(mouseX, mouseY, button) || super.mouseClicked(mouseX, mouseY, button);
+    }
+
+    @Override
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
+        return this.grid.mouseDragged(mouseX, mouseY) || super.mouseDragged(mouseX, mouseY, button, deltaX, deltaY);
+    }
+
+    @Override
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        this.grid.mouseReleased();
+        return super.mouseReleased(mouseX, mouseY, button);
+    }
+
     @Override
     public boolean shouldPause() {
         return false;
@@ -127,23 +232,55 @@ public class ProfessionSelectionScreen extends Screen {
 
     @Override
     public void close() {
-        XeenaaVillagePicker.LOGGER.info("ProfessionSelectionScreen closing");
+        XeenaaVillagePicker.LOGGER.debug("ProfessionSelectionScreen closing");
         super.close();
     }
 
+    @Override
+    public void removed() {
+        // The atlas is only drawn by this screen; don't keep its framebuffer around while it is closed
+        ProfessionIconAtlas.release();
+        super.removed();
+    }
+
     /**
      * Handle profession selection when a button is clicked
      */
     private void selectProfession(ProfessionData professionData) {
-        XeenaaVillagePicker.LOGGER.info("Player selected profession: {} for villager",
-            professionData.getTranslatedName().getString());
+        XeenaaVillagePicker.LOGGER.debug("Player selected profession: {} for {} villager(s)",
+            professionData.getId(), villagers.size());
 
-        XeenaaVillagePicker.LOGGER.info("Sending profession change packet: villager={}, profession={}",
-            villager.getId(), professionData.getId());
+        // Skip villagers that already have this profession on its way
+        java.util.List<Integer> villagerIds = villagers.stream()
+            .map(VillagerEntity::getId)
+            .filter(id -> !InFlightRequests.isPending(id, professionData))
+            .toList();
+        if (villagerIds.isEmpty()) {
+            this.close();
+            return;
+        }
 
         // Create and send the packet to the server
-        SelectProfessionPacket packet = new SelectProfessionPacket(villager.getId(), professionData.getId());
-        ClientPlayNetworking.send(packet);
+        ProfessionReference profession = ClientCatalogState.reference(professionData);
+        int requestId = InFlightRequests.begin(villagerIds, professionData);
+        if (villagerIds.size() == 1) {
+            XeenaaVillagePicker.LOGGER.debug("Sending profession change packet: villager={}, profession={}",
+                villagerIds.get(0), professionData.getId());
+            ClientPlayNetworking.send(new SelectProfessionPacket(requestId, villagerIds.get(0), profession));
+        } else {
+            XeenaaVillagePicker.LOGGER.debug("Sending batch profession change packet: {} villagers, profession={}",
+                villagerIds.size(), professionData.getId());
+            ClientPlayNetworking.send(new BatchSelectProfessionPacket(requestId, villagerIds, profession));
+            BatchSelection.clear();
+        }
+
+        // Optimistically report success; a rejection from the server replaces this message
+        if (this.client != null && this.client.player != null) {
+            Text name = ProfessionPresentation.of(professionData).getTranslatedName();
+            this.client.player.sendMessage(villagerIds.size() == 1
+                ? Text.translatable("message.xeenaa_village_picker.applied", name)
+                : Text.translatable("message.xeenaa_village_picker.applied_batch", villagerIds.size(), name), true);
+        }
 
         // Close the GUI after selection
         this.close();
@@ -0,0 +1,123 @@
+package com.xeenaa.villagepicker.client.network;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.XeenaaVillagePickerClient;
+import com.xeenaa.villagepicker.registry.CatalogEntry;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Server catalogs cached on disk, one file per catalog hash, so rejoining a known server
+ * does not need the full catalog to be sent again
+ */
+final class CatalogDiskCache {
+    private static final Path DIRECTORY = FabricLoader.getInstance().getGameDir()
+        .resolve(XeenaaVillagePicker.MOD_ID).resolve("catalogs");
+    private static final int MAX_CACHED_CATALOGS = 32;
+
+    private CatalogDiskCache() {
+    }
+
+    private static Path file(long hash) {
+        return DIRECTORY.resolve(Long.toHexString(hash) + ".json");
+    }
+
+    /**
+     * Load the cached catalog with the given hash, or null if there is none or it is unreadable
+     */
+    static List<CatalogEntry> load(long hash) {
+        Path file = file(hash);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonArray array = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonArray("entries");
+            List<CatalogEntry> entries = new ArrayList<>(array.size());
+            for (JsonElement element : array) {
+                JsonObject object = element.getAsJsonObject();
+                Identifier id = Identifier.tryParse(object.get("id").getAsString());
+                if (id == null) {
+                    return null;
+                }
+                Optional<Identifier> workstation = object.has("workstation")
+                    ? Optional.ofNullable(Identifier.tryParse(object.get("workstation").getAsString()))
+                    : Optional.empty();
+                entries.add(new CatalogEntry(id, workstation, object.get("vanilla").getAsBoolean()));
+            }
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            XeenaaVillagePickerClient.CLIENT_LOGGER.warn("Ignoring unreadable catalog cache {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Write a catalog to the cache on the IO worker, dropping the oldest files beyond the limit
+     */
+    static void save(long hash, List<CatalogEntry> entries) {
+        JsonArray array = new JsonArray(entries.size());
+        for (CatalogEntry entry : entries) {
+            JsonObject object = new JsonObject();
+            object.addProperty("id", entry.id().toString());
+            entry.workstation().ifPresent(workstation -> object.addProperty("workstation", workstation.toString()));
+            object.addProperty("vanilla", entry.vanilla());
+            array.add(object);
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("hash", Long.toHexString(hash));
+        root.add("entries", array);
+
+        Util.getIoWorkerExecutor().execute(() -> {
+            try {
+                Files.createDirectories(DIRECTORY);
+                Path file = file(hash);
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (Writer writer = Files.newBufferedWriter(temp)) {
+                    writer.write(root.toString());
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                prune();
+            } catch (IOException e) {
+                XeenaaVillagePickerClient.CLIENT_LOGGER.warn("Failed to cache catalog {}", Long.toHexString(hash), e);
+            }
+        });
+    }
+
+    private static void prune() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(DIRECTORY)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(".json"))
+                .sorted(Comparator.comparingLong(CatalogDiskCache::lastModified).reversed())
+                .toList();
+        }
+        for (int i = MAX_CACHED_CATALOGS; i < files.size(); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
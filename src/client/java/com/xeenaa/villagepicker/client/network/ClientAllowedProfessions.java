@@ -0,0 +1,40 @@
+package com.xeenaa.villagepicker.client.network;
+
+import com.xeenaa.villagepicker.registry.ProfessionData;
+
+import java.util.BitSet;
+
+/**
+ * Professions the server's rules allow this player to pick in their current world, as catalog index bits.
+ * Only used to hide professions the server would reject; the server checks every request itself.
+ */
+public final class ClientAllowedProfessions {
+    private static volatile long catalogHash;
+    private static volatile BitSet allowed;
+
+    private ClientAllowedProfessions() {
+    }
+
+    /**
+     * Check whether a profession of the current client catalog may be picked. Everything is allowed
+     * until the server sent its rules, or while they refer to a catalog other than the current one.
+     */
+    public static boolean isAllowed(ProfessionData data) {
+        BitSet bits = allowed;
+        if (bits == null || catalogHash != ClientCatalogState.getCatalog().hash()) {
+            return true;
+        }
+        return bits.get(data.getIndex());
+    }
+
+    static void set(long hash, BitSet bits) {
+        // Cleared first, so a reader never pairs the new bits with the old hash
+        allowed = null;
+        catalogHash = hash;
+        allowed = bits;
+    }
+
+    static void reset() {
+        allowed = null;
+    }
+}
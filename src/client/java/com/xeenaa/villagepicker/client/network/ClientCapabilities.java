@@ -0,0 +1,27 @@
+package com.xeenaa.villagepicker.client.network;
+
+import com.xeenaa.villagepicker.permission.Capability;
+
+/**
+ * Capabilities the server granted this player. Only used to hide actions the server would reject;
+ * the server checks every request itself.
+ */
+public final class ClientCapabilities {
+    // Servers that never send capabilities allow everything
+    private static volatile int flags = Capability.ALL;
+
+    private ClientCapabilities() {
+    }
+
+    public static boolean has(Capability capability) {
+        return capability.isSet(flags);
+    }
+
+    static void set(int newFlags) {
+        flags = newFlags;
+    }
+
+    static void reset() {
+        flags = Capability.ALL;
+    }
+}
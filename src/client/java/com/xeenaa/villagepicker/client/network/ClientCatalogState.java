@@ -0,0 +1,99 @@
+package com.xeenaa.villagepicker.client.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePickerClient;
+import com.xeenaa.villagepicker.network.CatalogRequestPacket;
+import com.xeenaa.villagepicker.network.ProfessionReference;
+import com.xeenaa.villagepicker.registry.CatalogEntry;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionManager;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+
+import java.util.List;
+
+/**
+ * Tracks the profession catalog of the connected server.
+ * <p>
+ * At join the server announces its catalog hash. If the local catalog or one cached on disk has
+ * that hash it is used right away; otherwise the full catalog is requested once and cached.
+ * Until then (or on servers without this mod) the local catalog is shown and professions are
+ * referenced by id.
+ */
+public final class ClientCatalogState {
+    private static volatile ProfessionCatalog serverCatalog;
+    private static int syncedVersion = 0;
+
+    private ClientCatalogState() {
+    }
+
+    /**
+     * Record the catalog hash announced by the server
+     */
+    public static void onServerCatalogHash(long serverHash) {
+        ProfessionCatalog local = ProfessionManager.getInstance().getCatalog();
+        if (serverHash == local.hash()) {
+            serverCatalog = local;
+            return;
+        }
+
+        List<CatalogEntry> cached = CatalogDiskCache.load(serverHash);
+        if (cached != null && install(serverHash, cached)) {
+            XeenaaVillagePickerClient.CLIENT_LOGGER.debug("Using cached catalog {}", Long.toHexString(serverHash));
+            return;
+        }
+
+        serverCatalog = null;
+        ClientPlayNetworking.send(new CatalogRequestPacket(serverHash));
+    }
+
+    /**
+     * Install a full catalog sent by the server and cache it for the next join
+     */
+    public static void onServerCatalog(long serverHash, List<CatalogEntry> entries) {
+        if (install(serverHash, entries)) {
+            CatalogDiskCache.save(serverHash, entries);
+        }
+    }
+
+    private static boolean install(long serverHash, List<CatalogEntry> entries) {
+        ProfessionCatalog catalog = ProfessionCatalog.fromEntries(++syncedVersion, entries);
+        if (catalog.hash() != serverHash) {
+            XeenaaVillagePickerClient.CLIENT_LOGGER.warn("Catalog hash mismatch (expected {}, got {}), ignoring it",
+                Long.toHexString(serverHash), Long.toHexString(catalog.hash()));
+            return false;
+        }
+        serverCatalog = catalog;
+        return true;
+    }
+
+    /**
+     * Forget the negotiated state, e.g. when leaving a server
+     */
+    public static void reset() {
+        serverCatalog = null;
+    }
+
+    /**
+     * The catalog to show: the server's if known, otherwise the local one
+     */
+    public static ProfessionCatalog getCatalog() {
+        ProfessionCatalog catalog = serverCatalog;
+        return catalog != null ? catalog : ProfessionManager.getInstance().getCatalog();
+    }
+
+    public static boolean indicesAgreed() {
+        return serverCatalog != null;
+    }
+
+    /**
+     * Build the most compact profession reference the server will understand.
+     * Indices are only used for data from the server's catalog, not from one shown before it arrived.
+     */
+    public static ProfessionReference reference(ProfessionData professionData) {
+        ProfessionCatalog catalog = serverCatalog;
+        if (catalog != null && catalog.get(professionData.getIndex()) == professionData) {
+            return ProfessionReference.compact(professionData.getIndex(), catalog.hash());
+        }
+        return ProfessionReference.byId(professionData.getId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.xeenaa.villagepicker.client.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePickerClient;
+import com.xeenaa.villagepicker.client.gui.ProfessionIconAtlas;
+import com.xeenaa.villagepicker.network.AllowedProfessionsPacket;
+import com.xeenaa.villagepicker.network.CapabilitiesPacket;
+import com.xeenaa.villagepicker.network.CatalogHandshakePacket;
+import com.xeenaa.villagepicker.network.CatalogSyncPacket;
+import com.xeenaa.villagepicker.network.ProfessionResultPacket;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+
+/**
+ * Handles incoming network packets on the client side
+ */
+public class ClientPacketHandler {
+
+    /**
+     * Register all client-side packet handlers
+     */
+    public static void registerHandlers() {
+        ClientPlayNetworking.registerGlobalReceiver(CatalogHandshakePacket.PACKET_ID, ClientPacketHandler::handleCatalogHandshake);
+        ClientPlayNetworking.registerGlobalReceiver(CatalogSyncPacket.PACKET_ID, ClientPacketHandler::handleCatalogSync);
+        ClientPlayNetworking.registerGlobalReceiver(ProfessionResultPacket.PACKET_ID,
+            (packet, context) -> InFlightRequests.onResult(packet));
+        ClientPlayNetworking.registerGlobalReceiver(CapabilitiesPacket.PACKET_ID,
+            (packet, context) -> ClientCapabilities.set(packet.flags()));
+        ClientPlayNetworking.registerGlobalReceiver(AllowedProfessionsPacket.PACKET_ID,
+            (packet, context) -> ClientAllowedProfessions.set(packet.catalogHash(), packet.allowed()));
+
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            ClientCatalogState.reset();
+            InFlightRequests.reset();
+            ClientCapabilities.reset();
+            ClientAllowedProfessions.reset();
+            ProfessionIconAtlas.release();
+        });
+    }
+
+    /**
+     * Handle the server's catalog hash announcement
+     */
+    private static void handleCatalogHandshake(CatalogHandshakePacket packet, ClientPlayNetworking.Context context) {
+        ClientCatalogState.onServerCatalogHash(packet.catalogHash());
+        XeenaaVillagePickerClient.CLIENT_LOGGER.debug("Server catalog hash {}, compact profession ids {}",
+            Long.toHexString(packet.catalogHash()), ClientCatalogState.indicesAgreed() ? "enabled" : "disabled");
+    }
+
+    /**
+     * Handle the full catalog, sent by the server when it was not cached locally
+     */
+    private static void handleCatalogSync(CatalogSyncPacket packet, ClientPlayNetworking.Context context) {
+        ClientCatalogState.onServerCatalog(packet.catalogHash(), packet.entries());
+        XeenaaVillagePickerClient.CLIENT_LOGGER.debug("Received catalog {} with {} professions",
+            Long.toHexString(packet.catalogHash()), packet.entries().size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.xeenaa.villagepicker.client.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePickerClient;
+import com.xeenaa.villagepicker.metrics.LatencyHistogram;
+import com.xeenaa.villagepicker.network.ProfessionResultPacket;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Profession selection requests sent to the server and not yet answered, per villager.
+ * <p>
+ * The UI assumes success as soon as a request is sent and only reports back if the server
+ * rejects it or drops it in favour of another queued change. Requests the server never answers
+ * (e.g. rate limited ones) expire after a timeout. Round-trip times are kept in a histogram for
+ * diagnostics. Only accessed from the client thread.
+ */
+public final class InFlightRequests {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final LatencyHistogram ROUND_TRIP = new LatencyHistogram("roundTrip");
+    private static final Map<Integer, InFlight> byVillager = new HashMap<>();
+    private static int nextRequestId = 1;
+
+    private InFlightRequests() {
+    }
+
+    private record InFlight(int requestId, ProfessionData profession, long sentNanos) {}
+
+    /**
+     * Check whether the same profession is already on its way for this villager
+     */
+    public static boolean isPending(int villagerEntityId, ProfessionData profession) {
+        InFlight inFlight = byVillager.get(villagerEntityId);
+        return inFlight != null && inFlight.profession().equals(profession);
+    }
+
+    /**
+     * Track a new request for the given villagers
+     *
+     * @return the request id to send with the packet
+     */
+    public static int begin(List<Integer> villagerEntityIds, ProfessionData profession) {
+        int requestId = nextRequestId++;
+        long now = System.nanoTime();
+        for (int villagerEntityId : villagerEntityIds) {
+            byVillager.put(villagerEntityId, new InFlight(requestId, profession, now));
+        }
+        return requestId;
+    }
+
+    /**
+     * Handle the server's answer to a request
+     */
+    public static void onResult(ProfessionResultPacket packet) {
+        long sentNanos = -1;
+        if (packet.villagerEntityId() == ProfessionResultPacket.ALL_VILLAGERS) {
+            Iterator<InFlight> iterator = byVillager.values().iterator();
+            while (iterator.hasNext()) {
+                InFlight inFlight = iterator.next();
+                if (inFlight.requestId() == packet.requestId()) {
+                    sentNanos = inFlight.sentNanos();
+                    iterator.remove();
+                }
+            }
+        } else {
+            InFlight inFlight = byVillager.get(packet.villagerEntityId());
+            // A newer request for the same villager replaced this one
+            if (inFlight != null && inFlight.requestId() == packet.requestId()) {
+                sentNanos = inFlight.sentNanos();
+                byVillager.remove(packet.villagerEntityId());
+            }
+        }
+
+        if (sentNanos < 0) {
+            XeenaaVillagePickerClient.CLIENT_LOGGER.debug("Ignoring result {} for stale request {}",
+                packet.result(), packet.requestId());
+            return;
+        }
+
+        long roundTrip = System.nanoTime() - sentNanos;
+        ROUND_TRIP.record(roundTrip);
+        XeenaaVillagePickerClient.CLIENT_LOGGER.debug("Request {} for villager {}: {} after {} ms",
+            packet.requestId(), packet.villagerEntityId(), packet.result(), roundTrip / 1_000_000.0);
+
+        // Success was already shown when the request was sent
+        if (!packet.result().isSuccess()) {
+            notifyPlayer(Text.translatable("message.xeenaa_village_picker.result."
+                + packet.result().name().toLowerCase(Locale.ROOT))
+                .formatted(packet.result().isInformational() ? Formatting.GRAY : Formatting.RED));
+        }
+    }
+
+    /**
+     * Drop requests the server did not answer in time; called every client tick
+     */
+    public static void expire() {
+        if (byVillager.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        byVillager.values().removeIf(inFlight -> now - inFlight.sentNanos() > TIMEOUT_NANOS);
+    }
+
+    /**
+     * Forget all requests, e.g. when leaving a server
+     */
+    public static void reset() {
+        byVillager.clear();
+        if (ROUND_TRIP.getCount() > 0) {
+            XeenaaVillagePickerClient.CLIENT_LOGGER.debug("Profession request {}", ROUND_TRIP.summary());
+        }
+    }
+
+    /**
+     * Round-trip times of answered requests
+     */
+    public static LatencyHistogram getRoundTrip() {
+        return ROUND_TRIP;
+    }
+
+    /**
+     * Number of villagers with a request in flight
+     */
+    public static int size() {
+        return byVillager.size();
+    }
+
+    private static void notifyPlayer(Text message) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player != null) {
+            client.player.sendMessage(message, true);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.xeenaa.villagepicker.client.search;
+
+import com.xeenaa.villagepicker.client.gui.ProfessionPresentation;
+import com.xeenaa.villagepicker.client.util.ClientReloadTracker;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionSortKeys;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigram index over each profession's translated name, id path and mod namespace.
+ * <p>
+ * Built once per catalog, language and resource reload; language changes reach it through the
+ * {@link ClientReloadTracker} generation. Entries are kept in {@link ProfessionSortKeys} display order,
+ * collated for the active language, so results need no further sorting. Queries of three or more
+ * characters are answered from the smallest posting list of their trigrams; shorter queries scan. A {@link Query} that only
+ * extends the previous one (more characters, same filter) is answered from the previous results.
+ */
+public final class ProfessionSearchIndex {
+    private static ProfessionSearchIndex cached;
+
+    private final ProfessionCatalog catalog;
+    private final String language;
+    private final int reloadGeneration;
+    private final List<ProfessionData> entries;
+    private final String[] haystacks;
+    private final Long2ObjectOpenHashMap<int[]> postings = new Long2ObjectOpenHashMap<>();
+    private final List<String> moddedNamespaces;
+
+    private ProfessionSearchIndex(ProfessionCatalog catalog, String language) {
+        this.catalog = catalog;
+        this.language = language;
+        this.reloadGeneration = ClientReloadTracker.getGeneration();
+
+        // Resolve each translated name once; it feeds both the collation keys and the haystacks
+        String[] names = new String[catalog.size()];
+        for (ProfessionData data : catalog.all()) {
+            names[data.getIndex()] = ProfessionPresentation.of(data).getTranslatedName().getString();
+        }
+        this.entries = ProfessionSortKeys.build(catalog, ProfessionSortKeys.toLocale(language),
+            data -> names[data.getIndex()]).sorted();
+        this.haystacks = new String[entries.size()];
+
+        Long2ObjectOpenHashMap<IntArrayList> building = new Long2ObjectOpenHashMap<>();
+        Set<String> namespaces = new LinkedHashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            ProfessionData data = entries.get(i);
+            String haystack = (names[data.getIndex()] + '\n' + data.getName() + '\n' + data.getModName())
+                .toLowerCase(Locale.ROOT);
+            haystacks[i] = haystack;
+
+            for (int c = 0; c + 3 <= haystack.length(); c++) {
+                long key = trigram(haystack, c);
+                IntArrayList list = building.get(key);
+                if (list == null) {
+                    list = new IntArrayList();
+                    building.put(key, list);
+                }
+                // Entries are visited in order, so each posting list stays sorted and duplicate-free
+                if (list.isEmpty() || list.getInt(list.size() - 1) != i) {
+                    list.add(i);
+                }
+            }
+            if (!data.isVanilla()) {
+                namespaces.add(data.getModName());
+            }
+        }
+        for (Long2ObjectMap.Entry<IntArrayList> entry : building.long2ObjectEntrySet()) {
+            postings.put(entry.getLongKey(), entry.getValue().toIntArray());
+        }
+        this.moddedNamespaces = List.copyOf(namespaces);
+    }
+
+    /**
+     * Get the index for a catalog, reusing the previous one if catalog, language and
+     * client resources are unchanged
+     */
+    public static ProfessionSearchIndex forCatalog(ProfessionCatalog catalog, String language) {
+        ProfessionSearchIndex index = cached;
+        if (index == null || index.catalog != catalog || !index.language.equals(language)
+                || index.reloadGeneration != ClientReloadTracker.getGeneration()) {
+            index = new ProfessionSearchIndex(catalog, language);
+            cached = index;
+        }
+        return index;
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * Namespaces of all modded professions, in catalog order
+     */
+    public List<String> getModdedNamespaces() {
+        return moddedNamespaces;
+    }
+
+    /**
+     * Start a new query session over this index
+     */
+    public Query newQuery() {
+        return new Query();
+    }
+
+    /**
+     * Which professions to show regardless of the search text
+     */
+    public record Filter(Kind kind, String namespace) {
+        public static final Filter ALL = new Filter(Kind.ALL, null);
+        public static final Filter VANILLA = new Filter(Kind.VANILLA, null);
+        public static final Filter MODDED = new Filter(Kind.MODDED, null);
+
+        public enum Kind { ALL, VANILLA, MODDED, NAMESPACE }
+
+        public static Filter namespace(String namespace) {
+            return new Filter(Kind.NAMESPACE, namespace);
+        }
+
+        boolean test(ProfessionData data) {
+            return switch (kind) {
+                case ALL -> true;
+                case VANILLA -> data.isVanilla();
+                case MODDED -> !data.isVanilla();
+                case NAMESPACE -> namespace.equals(data.getModName());
+            };
+        }
+    }
+
+    /**
+     * Incremental query state. Remembers the last text, filter and result so that narrowing
+     * queries only re-check the previous matches.
+     */
+    public final class Query {
+        private String lastText = null;
+        private Filter lastFilter = null;
+        private int[] lastResult = null;
+
+        private Query() {
+        }
+
+        /**
+         * Run the query and return matching professions in display order
+         */
+        public List<ProfessionData> search(String text, Filter filter) {
+            String needle = text.trim().toLowerCase(Locale.ROOT);
+
+            int[] result;
+            if (lastResult != null && filter.equals(lastFilter) && needle.contains(lastText)) {
+                // Narrowing: every match of the new text also matched the previous text
+                result = filterCandidates(lastResult, needle, filter);
+            } else if (needle.length() >= 3) {
+                result = filterCandidates(smallestPostingList(needle), needle, filter);
+            } else {
+                result = scan(needle, filter);
+            }
+
+            lastText = needle;
+            lastFilter = filter;
+            lastResult = result;
+
+            List<ProfessionData> matches = new ArrayList<>(result.length);
+            for (int index : result) {
+                matches.add(entries.get(index));
+            }
+            return matches;
+        }
+
+        private int[] smallestPostingList(String needle) {
+            int[] smallest = null;
+            for (int c = 0; c + 3 <= needle.length(); c++) {
+                int[] list = postings.get(trigram(needle, c));
+                if (list == null) {
+                    return new int[0];
+                }
+                if (smallest == null || list.length < smallest.length) {
+                    smallest = list;
+                }
+            }
+            return smallest;
+        }
+
+        private int[] filterCandidates(int[] candidates, String needle, Filter filter) {
+            IntArrayList result = new IntArrayList(candidates.length);
+            for (int index : candidates) {
+                if (filter.test(entries.get(index)) && haystacks[index].contains(needle)) {
+                    result.add(index);
+                }
+            }
+            return result.toIntArray();
+        }
+
+        private int[] scan(String needle, Filter filter) {
+            IntArrayList result = new IntArrayList();
+            for (int index = 0; index < entries.size(); index++) {
+                if (filter.test(entries.get(index)) && (needle.isEmpty() || haystacks[index].contains(needle))) {
+                    result.add(index);
+                }
+            }
+            return result.toIntArray();
+        }
+    }
+}
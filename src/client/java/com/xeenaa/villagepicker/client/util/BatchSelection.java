@@ -0,0 +1,82 @@
+package com.xeenaa.villagepicker.client.util;
+
+import com.xeenaa.villagepicker.network.BatchSelectProfessionPacket;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.text.Text;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side batch mode: while enabled, shift + right-click collects villagers instead of
+ * opening the selection screen, so one profession can be assigned to all of them at once.
+ * Only accessed from the client thread.
+ */
+public final class BatchSelection {
+    private static final Map<Integer, VillagerEntity> selected = new LinkedHashMap<>();
+    private static boolean enabled = false;
+
+    private BatchSelection() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Toggle batch mode; leaving it discards the current selection
+     */
+    public static void toggle() {
+        enabled = !enabled;
+        selected.clear();
+        notifyPlayer(Text.translatable(enabled
+            ? "message.xeenaa_village_picker.batch_mode.enabled"
+            : "message.xeenaa_village_picker.batch_mode.disabled"));
+    }
+
+    public static boolean contains(VillagerEntity villager) {
+        return selected.containsKey(villager.getId());
+    }
+
+    /**
+     * Add a villager to the selection
+     *
+     * @return false if the batch is already full
+     */
+    public static boolean add(VillagerEntity villager) {
+        if (selected.size() >= BatchSelectProfessionPacket.MAX_BATCH_SIZE) {
+            notifyPlayer(Text.translatable("message.xeenaa_village_picker.batch_mode.full", selected.size()));
+            return false;
+        }
+        selected.put(villager.getId(), villager);
+        notifyPlayer(Text.translatable("message.xeenaa_village_picker.batch_mode.selected", selected.size()));
+        return true;
+    }
+
+    /**
+     * Get the selected villagers that are still alive, in selection order
+     */
+    public static List<VillagerEntity> getSelected() {
+        List<VillagerEntity> villagers = new ArrayList<>(selected.size());
+        for (VillagerEntity villager : selected.values()) {
+            if (villager.isAlive()) {
+                villagers.add(villager);
+            }
+        }
+        return villagers;
+    }
+
+    public static void clear() {
+        selected.clear();
+    }
+
+    private static void notifyPlayer(Text message) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player != null) {
+            client.player.sendMessage(message, true);
+        }
+    }
+}
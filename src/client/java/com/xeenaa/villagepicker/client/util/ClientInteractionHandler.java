@@ -2,6 +2,8 @@ package com.xeenaa.villagepicker.client.util;
 
 import com.xeenaa.villagepicker.XeenaaVillagePicker;
 import com.xeenaa.villagepicker.client.gui.ProfessionSelectionScreen;
+import com.xeenaa.villagepicker.client.network.ClientCapabilities;
+import com.xeenaa.villagepicker.permission.Capability;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.entity.player.PlayerEntity;
@@ -39,34 +41,46 @@ public class ClientInteractionHandler {
             return ActionResult.PASS;
         }
 
-        XeenaaVillagePicker.LOGGER.info("Processing valid villager interaction (shift + right-click) - Player: {}, Villager: {}",
+        XeenaaVillagePicker.LOGGER.debug("Processing valid villager interaction (shift + right-click) - Player: {}, Villager: {}",
             player.getName().getString(), villager.getClass().getSimpleName());
 
         // Check permissions and villager eligibility
-        if (!hasPermission(player) || !canChangeProfession(villager)) {
-            XeenaaVillagePicker.LOGGER.info("Interaction not allowed - Permission: {}, Can change: {}",
-                hasPermission(player), canChangeProfession(villager));
+        boolean permitted = hasPermission(player);
+        boolean changeable = canChangeProfession(villager);
+        if (!permitted || !changeable) {
+            XeenaaVillagePicker.LOGGER.debug("Interaction not allowed - Permission: {}, Can change: {}",
+                permitted, changeable);
             return ActionResult.PASS;
         }
 
+        // In batch mode, collect villagers; clicking an already selected one opens the GUI for the whole batch.
+        // Players without the batch capability always get the single villager screen.
+        if (BatchSelection.isEnabled() && ClientCapabilities.has(Capability.BATCH_SELECT)) {
+            if (!BatchSelection.contains(villager)) {
+                BatchSelection.add(villager);
+                return ActionResult.SUCCESS;
+            }
+
+            MinecraftClient.getInstance().setScreen(new ProfessionSelectionScreen(BatchSelection.getSelected()));
+            return ActionResult.SUCCESS;
+        }
+
         // Open profession selection GUI
         MinecraftClient client = MinecraftClient.getInstance();
         ProfessionSelectionScreen screen = new ProfessionSelectionScreen(villager);
         client.setScreen(screen);
 
-        XeenaaVillagePicker.LOGGER.info("Opened ProfessionSelectionScreen for villager (shift + right-click)");
+        XeenaaVillagePicker.LOGGER.debug("Opened ProfessionSelectionScreen for villager (shift + right-click)");
 
         // Consume the interaction to prevent vanilla trading GUI
         return ActionResult.SUCCESS;
     }
 
     /**
-     * Check if player has permission to change villager professions
-     * TODO: Implement permission system if needed
+     * Check if player has permission to change villager professions, as last reported by the server
      */
     public static boolean hasPermission(PlayerEntity player) {
-        // For now, allow all players
-        return true;
+        return ClientCapabilities.has(Capability.CHANGE_PROFESSION);
     }
 
     /**
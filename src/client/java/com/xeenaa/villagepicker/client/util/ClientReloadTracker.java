@@ -0,0 +1,45 @@
+package com.xeenaa.villagepicker.client.util;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+/**
+ * Counts client resource reloads (resource packs, language changes, F3+T).
+ * Client-side caches of translated text or rendered resources store the generation they were
+ * built for and rebuild when it changes.
+ */
+public final class ClientReloadTracker {
+    private static volatile int generation = 0;
+
+    private ClientReloadTracker() {
+    }
+
+    /**
+     * Register the reload listener; called once from the client initializer
+     */
+    public static void register() {
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(
+            new SimpleSynchronousResourceReloadListener() {
+                @Override
+                public Identifier getFabricId() {
+                    return Identifier.of(XeenaaVillagePicker.MOD_ID, "cache_invalidation");
+                }
+
+                @Override
+                public void reload(ResourceManager manager) {
+                    generation++;
+                }
+            });
+    }
+
+    /**
+     * Current reload generation; changes every time client resources are reloaded
+     */
+    public static int getGeneration() {
+        return generation;
+    }
+}
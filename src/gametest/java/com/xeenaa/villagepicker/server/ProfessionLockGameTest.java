@@ -0,0 +1,45 @@
+package com.xeenaa.villagepicker.server;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+import net.minecraft.village.TradeOffer;
+import net.minecraft.village.VillagerProfession;
+
+/**
+ * A villager whose profession was picked is locked to it, but must still claim a workstation of
+ * that profession, work at it and restock its trades like a vanilla villager.
+ */
+public class ProfessionLockGameTest implements FabricGameTest {
+
+    @GameTest(templateName = EMPTY_STRUCTURE, tickLimit = 2400)
+    public void lockedVillagerRestocks(TestContext context) {
+        for (int x = 0; x < 5; x++) {
+            for (int z = 0; z < 5; z++) {
+                context.setBlockState(x, 0, z, Blocks.STONE);
+            }
+        }
+        context.setBlockState(3, 1, 3, Blocks.COMPOSTER);
+        // Work hours of the villager schedule
+        context.getWorld().setTimeOfDay(2500);
+
+        VillagerEntity villager = context.spawnEntity(EntityType.VILLAGER, 1, 1, 1);
+        VillagerProfessionHelper.changeProfession(villager, VillagerProfession.FARMER);
+        context.assertTrue(ProfessionLock.isLocked(villager), "Villager was not locked");
+
+        // Use up every offer so the villager needs to restock
+        for (TradeOffer offer : villager.getOffers()) {
+            offer.disable();
+        }
+
+        context.succeedWhen(() -> {
+            context.assertTrue(villager.getVillagerData().getProfession() == VillagerProfession.FARMER,
+                "Locked villager lost its profession");
+            context.assertTrue(villager.getOffers().stream().noneMatch(TradeOffer::isDisabled),
+                "Locked villager did not restock");
+        });
+    }
+}
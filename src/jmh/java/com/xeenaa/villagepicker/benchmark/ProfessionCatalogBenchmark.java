@@ -0,0 +1,118 @@
+package com.xeenaa.villagepicker.benchmark;
+
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionSortKeys;
+import com.xeenaa.villagepicker.registry.WorkstationIndex;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data-model costs that scale with catalog size: building {@link ProfessionData}, sorting it,
+ * building a {@link ProfessionCatalog} and reading its vanilla/modded views.
+ * Sizes model vanilla only (15), a large modpack (500) and an extreme one (5,000).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfessionCatalogBenchmark {
+
+    @Param({"15", "500", "5000"})
+    public int catalogSize;
+
+    private Map<Identifier, VillagerProfession> professions;
+    private WorkstationIndex workstations;
+    private ProfessionData[] data;
+    private ProfessionData[] scratch;
+    private ProfessionCatalog catalog;
+    private ProfessionData[] catalogData;
+    private ProfessionSortKeys sortKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        professions = SyntheticCatalogs.create(catalogSize);
+        workstations = WorkstationIndex.build(professions);
+        data = professions.entrySet().stream()
+            .map(entry -> new ProfessionData(entry.getKey(), entry.getValue(), workstations))
+            .toArray(ProfessionData[]::new);
+        scratch = new ProfessionData[data.length];
+        catalog = ProfessionCatalog.build(1, professions);
+        // Sort keys are indexed by catalog index, so the translated-name sort runs over catalog data
+        catalogData = catalog.all().toArray(ProfessionData[]::new);
+        sortKeys = ProfessionSortKeys.build(catalog, Locale.ENGLISH, p -> Text.translatable("entity.minecraft.villager." + p.getName()).getString());
+    }
+
+    @Benchmark
+    public void constructProfessionData(Blackhole blackhole) {
+        for (Map.Entry<Identifier, VillagerProfession> entry : professions.entrySet()) {
+            blackhole.consume(new ProfessionData(entry.getKey(), entry.getValue(), workstations));
+        }
+    }
+
+    @Benchmark
+    public ProfessionData[] sortByProfessionComparator() {
+        System.arraycopy(data, 0, scratch, 0, data.length);
+        Arrays.sort(scratch, ProfessionData.PROFESSION_COMPARATOR);
+        return scratch;
+    }
+
+    @Benchmark
+    public ProfessionSortKeys buildSortKeys() {
+        return ProfessionSortKeys.build(catalog, Locale.ENGLISH, p -> Text.translatable("entity.minecraft.villager." + p.getName()).getString());
+    }
+
+    @Benchmark
+    public ProfessionData[] sortByTranslatedName() {
+        System.arraycopy(catalogData, 0, scratch, 0, catalogData.length);
+        Arrays.sort(scratch, sortKeys.comparator());
+        return scratch;
+    }
+
+    @Benchmark
+    public ProfessionCatalog buildCatalog() {
+        return ProfessionCatalog.build(1, professions);
+    }
+
+    @Benchmark
+    public List<ProfessionData> allProfessionData() {
+        return catalog.all();
+    }
+
+    @Benchmark
+    public List<ProfessionData> vanillaFilter() {
+        return catalog.vanilla();
+    }
+
+    @Benchmark
+    public List<ProfessionData> moddedFilter() {
+        return catalog.modded();
+    }
+
+    @Benchmark
+    public ProfessionData lookupById() {
+        return catalog.get(data[data.length - 1].getId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.xeenaa.villagepicker.benchmark;
+
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public {@link ProfessionManager} getters against the real (vanilla) registry, as called by the GUI
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfessionManagerBenchmark {
+    private ProfessionManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCatalogs.bootstrap();
+        manager = ProfessionManager.getInstance();
+        manager.getCatalog();
+    }
+
+    @Benchmark
+    public List<ProfessionData> getAllProfessionData() {
+        return manager.getAllProfessionData();
+    }
+
+    @Benchmark
+    public List<ProfessionData> getVanillaProfessionData() {
+        return manager.getVanillaProfessionData();
+    }
+
+    @Benchmark
+    public List<ProfessionData> getModdedProfessionData() {
+        return manager.getModdedProfessionData();
+    }
+}
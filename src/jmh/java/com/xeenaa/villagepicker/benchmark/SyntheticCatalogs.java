@@ -0,0 +1,58 @@
+package com.xeenaa.villagepicker.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds profession maps of arbitrary size for benchmarks: the vanilla registry first,
+ * then synthetic modded professions spread over several namespaces
+ */
+final class SyntheticCatalogs {
+    private static final int MOD_COUNT = 25;
+    private static boolean bootstrapped = false;
+
+    private SyntheticCatalogs() {
+    }
+
+    /**
+     * Initialize Minecraft's registries so professions, blocks and translations can be resolved
+     */
+    static synchronized void bootstrap() {
+        if (!bootstrapped) {
+            SharedConstants.createGameVersion();
+            Bootstrap.initialize();
+            bootstrapped = true;
+        }
+    }
+
+    /**
+     * Create a profession map with exactly {@code size} entries, in registry order
+     */
+    static Map<Identifier, VillagerProfession> create(int size) {
+        bootstrap();
+
+        Map<Identifier, VillagerProfession> professions = new LinkedHashMap<>();
+        for (VillagerProfession profession : Registries.VILLAGER_PROFESSION) {
+            if (professions.size() >= size) {
+                return professions;
+            }
+            professions.put(Registries.VILLAGER_PROFESSION.getId(profession), profession);
+        }
+
+        for (int i = 0; professions.size() < size; i++) {
+            // Scatter names so sorting is not handed pre-sorted input
+            String path = "profession_" + Integer.toString((i * 7919) % 100_003, 36) + "_" + i;
+            Identifier id = Identifier.of("benchmod_" + (i % MOD_COUNT), path);
+            professions.put(id, new VillagerProfession(path, entry -> false, entry -> false,
+                ImmutableSet.of(), ImmutableSet.of(), null));
+        }
+        return professions;
+    }
+}
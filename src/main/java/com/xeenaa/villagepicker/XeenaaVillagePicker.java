@@ -1,9 +1,27 @@
 package com.xeenaa.villagepicker;
 
+import com.xeenaa.villagepicker.audit.AuditLog;
+import com.xeenaa.villagepicker.command.VillagePickerCommands;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import com.xeenaa.villagepicker.metrics.MetricsDumper;
+import com.xeenaa.villagepicker.metrics.VillagePickerMetrics;
+import com.xeenaa.villagepicker.network.BatchSelectProfessionPacket;
+import com.xeenaa.villagepicker.network.AllowedProfessionsPacket;
+import com.xeenaa.villagepicker.network.CapabilitiesPacket;
+import com.xeenaa.villagepicker.network.CatalogHandshakePacket;
+import com.xeenaa.villagepicker.network.CatalogRequestPacket;
+import com.xeenaa.villagepicker.network.CatalogSyncPacket;
+import com.xeenaa.villagepicker.network.ProfessionResultPacket;
 import com.xeenaa.villagepicker.network.SelectProfessionPacket;
 import com.xeenaa.villagepicker.network.ServerPacketHandler;
+import com.xeenaa.villagepicker.permission.PermissionManager;
 import com.xeenaa.villagepicker.registry.ProfessionManager;
+import com.xeenaa.villagepicker.rules.ProfessionRules;
+import com.xeenaa.villagepicker.server.ProfessionChangeScheduler;
+import com.xeenaa.villagepicker.server.ProfessionLock;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +35,10 @@ public class XeenaaVillagePicker implements ModInitializer {
         LOGGER.info("Initializing Xeenaa Village Picker mod - Version 1.0.0");
         LOGGER.info("Hot reload test: Development environment ready");
 
+        // Load configuration
+        VillagePickerConfig.load();
+        VillagePickerMetrics.setEnabled(VillagePickerConfig.get().metrics.enabled);
+
         // Initialize profession manager
         ProfessionManager professionManager = ProfessionManager.getInstance();
         professionManager.initialize();
@@ -26,15 +48,60 @@ public class XeenaaVillagePicker implements ModInitializer {
         LOGGER.info("Profession system initialized: {} total ({} vanilla, {} modded)",
             stats.total(), stats.vanilla(), stats.modded());
 
-        // Log detailed profession information for testing
+        // Per-profession details only at debug level; the counts above are enough on a normal start
         professionManager.logAllProfessions();
 
+        // Registrations that finish after mod init (late modded or dynamic professions) and data pack
+        // reloads are picked up here; the catalog is only replaced if the registry actually changed
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> professionManager.refresh());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            // Compact indices of connected clients refer to the old catalog; tell them about the new one
+            if (professionManager.refresh()) {
+                ServerPacketHandler.announceCatalog(server);
+            }
+        });
+
+        // Register the persistent profession lock attachment
+        ProfessionLock.register();
+
         // Register network packets
         PayloadTypeRegistry.playC2S().register(SelectProfessionPacket.PACKET_ID, SelectProfessionPacket.CODEC);
+        PayloadTypeRegistry.playC2S().register(BatchSelectProfessionPacket.PACKET_ID, BatchSelectProfessionPacket.CODEC);
+        PayloadTypeRegistry.playC2S().register(CatalogRequestPacket.PACKET_ID, CatalogRequestPacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(CatalogHandshakePacket.PACKET_ID, CatalogHandshakePacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(CatalogSyncPacket.PACKET_ID, CatalogSyncPacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(ProfessionResultPacket.PACKET_ID, ProfessionResultPacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(CapabilitiesPacket.PACKET_ID, CapabilitiesPacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(AllowedProfessionsPacket.PACKET_ID, AllowedProfessionsPacket.CODEC);
+
+        // Resolve and cache who may change professions
+        PermissionManager.getInstance().register();
+
+        // Allow/deny rules, reloaded whenever the rules file changes
+        ProfessionRules rules = ProfessionRules.getInstance();
+        rules.register();
+        ServerLifecycleEvents.SERVER_STARTED.register(rules::start);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> rules.stop());
 
         // Register server-side packet handlers
         ServerPacketHandler.registerHandlers();
 
+        // Drain queued profession changes within the per-tick budget
+        ProfessionChangeScheduler scheduler = ProfessionChangeScheduler.getInstance();
+        ServerTickEvents.END_SERVER_TICK.register(scheduler::tick);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> scheduler.clear());
+
+        // Optional periodic metrics dump
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> MetricsDumper.start());
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> MetricsDumper.stop());
+
+        // Audit trail of profession changes, written off the server thread
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> AuditLog.start());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> AuditLog.stop());
+
+        // Register operator commands
+        VillagePickerCommands.register();
+
         // Note: Villager interaction event registration moved to client-side
     }
 }
\ No newline at end of file
@@ -0,0 +1,286 @@
+package com.xeenaa.villagepicker.audit;
+
+import com.google.gson.JsonObject;
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structured audit trail of profession changes, one JSON object per line.
+ * <p>
+ * The server thread only builds a small record and offers it to a bounded queue; if the queue is full
+ * the record is dropped and counted, so the tick never waits on disk. A daemon thread drains the queue
+ * in batches and appends them to a rolling file in the game's logs directory. Failed writes are retried
+ * with backoff, resuming after the bytes that already reached the file, so no record is written twice;
+ * if the file stays unwritable the log is disabled with an error and stops accepting records.
+ */
+public final class AuditLog {
+    private static final int BATCH_SIZE = 512;
+    private static final int MAX_WRITE_ATTEMPTS = 6;
+    private static final long INITIAL_RETRY_MILLIS = 500;
+
+    private static final LongAdder written = new LongAdder();
+    private static final LongAdder dropped = new LongAdder();
+
+    private static volatile BlockingQueue<AuditRecord> queue;
+    private static volatile boolean running;
+    private static Thread writerThread;
+
+    private AuditLog() {
+    }
+
+    /**
+     * One profession change; the player fields are null for operator assignments
+     */
+    public record AuditRecord(long timestampMillis, String playerName, UUID playerUuid, UUID villagerUuid,
+                              Identifier oldProfession, Identifier newProfession, Identifier world,
+                              double x, double y, double z) {}
+
+    /**
+     * Start the writer if auditing is enabled; called when the server starts
+     */
+    public static synchronized void start() {
+        VillagePickerConfig.Audit config = VillagePickerConfig.get().audit;
+        if (!config.enabled || writerThread != null) {
+            return;
+        }
+
+        Path file = FabricLoader.getInstance().getGameDir().resolve("logs").resolve(config.file);
+        BlockingQueue<AuditRecord> records = new ArrayBlockingQueue<>(Math.max(1, config.queueCapacity));
+        RollingWriter writer = new RollingWriter(file, config.maxFileSizeKb * 1024L, config.maxFiles);
+        queue = records;
+        running = true;
+        writerThread = new Thread(() -> run(records, writer), "VillagePicker Audit Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stop the writer after flushing what is queued; called when the server stops
+     */
+    public static synchronized void stop() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+        queue = null;
+    }
+
+    /**
+     * Record a profession change. Never blocks; drops the record if the writer is behind.
+     */
+    public static void record(ServerPlayerEntity player, VillagerEntity villager, VillagerProfession oldProfession,
+                              VillagerProfession newProfession) {
+        BlockingQueue<AuditRecord> target = queue;
+        if (target == null) {
+            return;
+        }
+
+        AuditRecord auditRecord = new AuditRecord(System.currentTimeMillis(),
+            player != null ? player.getName().getString() : null,
+            player != null ? player.getUuid() : null,
+            villager.getUuid(),
+            Registries.VILLAGER_PROFESSION.getId(oldProfession),
+            Registries.VILLAGER_PROFESSION.getId(newProfession),
+            villager.getWorld().getRegistryKey().getValue(),
+            villager.getX(), villager.getY(), villager.getZ());
+        if (!target.offer(auditRecord)) {
+            dropped.increment();
+        }
+    }
+
+    private static void run(BlockingQueue<AuditRecord> records, RollingWriter writer) {
+        List<AuditRecord> batch = new ArrayList<>(BATCH_SIZE);
+        StringBuilder text = new StringBuilder();
+        try {
+            while (running || !records.isEmpty()) {
+                AuditRecord first = records.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                records.drainTo(batch, BATCH_SIZE - 1);
+
+                text.setLength(0);
+                for (AuditRecord auditRecord : batch) {
+                    text.append(format(auditRecord)).append('\n');
+                }
+                if (!write(writer, StandardCharsets.UTF_8.encode(text.toString()))) {
+                    disable(records, batch.size());
+                    return;
+                }
+                written.add(batch.size());
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Write one batch, reopening the file and retrying with exponential backoff on failure.
+     * The buffer's position tracks what was already written, so a retry only writes the rest.
+     *
+     * @return false if every attempt failed
+     */
+    private static boolean write(RollingWriter writer, ByteBuffer batch) throws InterruptedException {
+        long retryMillis = INITIAL_RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writer.write(batch);
+                return true;
+            } catch (IOException e) {
+                // Reopened on the next attempt
+                writer.close();
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    XeenaaVillagePicker.LOGGER.error("Audit log disabled after {} failed writes to {}",
+                        attempt, writer.file, e);
+                    return false;
+                }
+                XeenaaVillagePicker.LOGGER.warn("Failed to write audit log {}, retrying in {} ms",
+                    writer.file, retryMillis, e);
+                Thread.sleep(retryMillis);
+                retryMillis *= 2;
+            }
+        }
+    }
+
+    /**
+     * Stop accepting records after the writer gave up; the failed batch and everything still
+     * queued count as dropped
+     */
+    private static void disable(BlockingQueue<AuditRecord> records, int failedBatch) {
+        queue = null;
+        dropped.add(failedBatch + records.size());
+        records.clear();
+    }
+
+    private static String format(AuditRecord auditRecord) {
+        JsonObject json = new JsonObject();
+        json.addProperty("time", Instant.ofEpochMilli(auditRecord.timestampMillis()).toString());
+        if (auditRecord.playerUuid() != null) {
+            json.addProperty("player", auditRecord.playerName());
+            json.addProperty("playerUuid", auditRecord.playerUuid().toString());
+        }
+        json.addProperty("villager", auditRecord.villagerUuid().toString());
+        json.addProperty("from", String.valueOf(auditRecord.oldProfession()));
+        json.addProperty("to", String.valueOf(auditRecord.newProfession()));
+        json.addProperty("world", auditRecord.world().toString());
+        json.addProperty("x", Math.round(auditRecord.x() * 100) / 100.0);
+        json.addProperty("y", Math.round(auditRecord.y() * 100) / 100.0);
+        json.addProperty("z", Math.round(auditRecord.z() * 100) / 100.0);
+        return json.toString();
+    }
+
+    /**
+     * Number of records written to disk since start
+     */
+    public static long getWrittenRecords() {
+        return written.sum();
+    }
+
+    /**
+     * Number of records dropped because the queue was full or the file could not be written
+     */
+    public static long getDroppedRecords() {
+        return dropped.sum();
+    }
+
+    /**
+     * Appends to a file through a {@link FileChannel}, rolling it to {@code name.1 .. name.N} when it grows too big
+     */
+    private static final class RollingWriter {
+        private final Path file;
+        private final long maxBytes;
+        private final int maxFiles;
+        private FileChannel channel;
+
+        RollingWriter(Path file, long maxBytes, int maxFiles) {
+            this.file = file;
+            this.maxBytes = Math.max(1024L, maxBytes);
+            this.maxFiles = Math.max(1, maxFiles);
+        }
+
+        /**
+         * Append the remaining bytes of a batch. The file is rolled before a batch starts, never after
+         * bytes were appended, so neither a failed roll nor a retry splits or repeats a batch.
+         */
+        void write(ByteBuffer batch) throws IOException {
+            open();
+            if (batch.position() == 0 && channel.size() >= maxBytes) {
+                roll();
+                open();
+            }
+
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+        }
+
+        private void open() throws IOException {
+            if (channel == null) {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            }
+        }
+
+        private void roll() throws IOException {
+            close();
+
+            Files.deleteIfExists(rolled(maxFiles));
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                Path from = rolled(i);
+                if (Files.exists(from)) {
+                    Files.move(from, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        private Path rolled(int index) {
+            return file.resolveSibling(file.getFileName() + "." + index);
+        }
+
+        void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    XeenaaVillagePicker.LOGGER.warn("Failed to close audit log {}", file, e);
+                }
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.xeenaa.villagepicker.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.xeenaa.villagepicker.audit.AuditLog;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import com.xeenaa.villagepicker.metrics.VillagePickerMetrics;
+import com.xeenaa.villagepicker.permission.PermissionManager;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionManager;
+import com.xeenaa.villagepicker.server.ProfessionChangeScheduler;
+import com.xeenaa.villagepicker.server.ProfessionLock;
+import com.xeenaa.villagepicker.server.SelectionRateLimiter;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.argument.EntityArgumentType;
+import net.minecraft.command.argument.IdentifierArgumentType;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operator commands under {@code /villagepicker}
+ */
+public class VillagePickerCommands {
+    private static final double MAX_ASSIGN_RADIUS = 1024.0;
+
+    /**
+     * Register all commands
+     */
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> registerRoot(dispatcher));
+    }
+
+    private static void registerRoot(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("villagepicker")
+            .requires(source -> source.hasPermissionLevel(2))
+            .then(CommandManager.literal("queue")
+                .executes(VillagePickerCommands::showQueue))
+            .then(CommandManager.literal("ratelimit")
+                .executes(VillagePickerCommands::showRateLimit))
+            .then(CommandManager.literal("stats")
+                .executes(VillagePickerCommands::showStats))
+            .then(CommandManager.literal("permissions")
+                .then(CommandManager.literal("reload")
+                    .executes(VillagePickerCommands::reloadPermissions)))
+            .then(CommandManager.literal("assign")
+                .then(CommandManager.literal("radius")
+                    .then(CommandManager.argument("radius", DoubleArgumentType.doubleArg(1.0, MAX_ASSIGN_RADIUS))
+                        .then(professionArgument()
+                            .executes(VillagePickerCommands::assignInRadius))))
+                .then(CommandManager.literal("entities")
+                    .then(CommandManager.argument("targets", EntityArgumentType.entities())
+                        .then(professionArgument()
+                            .executes(VillagePickerCommands::assignToEntities)))))
+            .then(CommandManager.literal("unlock")
+                .then(CommandManager.argument("targets", EntityArgumentType.entities())
+                    .executes(VillagePickerCommands::unlock))));
+    }
+
+    private static RequiredArgumentBuilder<ServerCommandSource, Identifier> professionArgument() {
+        return CommandManager.argument("profession", IdentifierArgumentType.identifier())
+            .suggests((context, builder) -> CommandSource.suggestIdentifiers(
+                ProfessionManager.getInstance().getCatalog().registryIds(), builder));
+    }
+
+    /**
+     * Assign a profession to every loaded villager within a radius of the command source.
+     * The world's entity lookup only visits the entity sections the box covers.
+     */
+    private static int assignInRadius(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        double radius = DoubleArgumentType.getDouble(context, "radius");
+        Vec3d center = source.getPosition();
+        double radiusSquared = radius * radius;
+        List<VillagerEntity> villagers = source.getWorld().getEntitiesByClass(VillagerEntity.class,
+            Box.of(center, radius * 2, radius * 2, radius * 2),
+            villager -> villager.squaredDistanceTo(center) <= radiusSquared);
+        return assign(source, IdentifierArgumentType.getIdentifier(context, "profession"), villagers);
+    }
+
+    /**
+     * Assign a profession to the villagers among the selected entities
+     */
+    private static int assignToEntities(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        List<VillagerEntity> villagers = new ArrayList<>();
+        for (Entity entity : EntityArgumentType.getEntities(context, "targets")) {
+            if (entity instanceof VillagerEntity villager) {
+                villagers.add(villager);
+            }
+        }
+        return assign(context.getSource(), IdentifierArgumentType.getIdentifier(context, "profession"), villagers);
+    }
+
+    /**
+     * Queue the assignments; the scheduler applies them over the following ticks within its budget
+     */
+    private static int assign(ServerCommandSource source, Identifier professionId, List<VillagerEntity> villagers) {
+        ProfessionData professionData = ProfessionManager.getInstance().getCatalog().get(professionId);
+        if (professionData == null) {
+            source.sendError(Text.literal("Unknown profession: " + professionId));
+            return 0;
+        }
+
+        ProfessionChangeScheduler scheduler = ProfessionChangeScheduler.getInstance();
+        for (VillagerEntity villager : villagers) {
+            scheduler.enqueueAssignment((ServerWorld) villager.getWorld(), villager.getId(), professionData);
+        }
+
+        source.sendFeedback(() -> Text.literal(String.format("Queued %d villagers for profession %s",
+            villagers.size(), professionId)), true);
+        return villagers.size();
+    }
+
+    /**
+     * Remove the profession lock from the selected villagers, so they can lose their profession with their
+     * job site like vanilla villagers again
+     */
+    private static int unlock(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        int unlocked = 0;
+        for (Entity entity : EntityArgumentType.getEntities(context, "targets")) {
+            if (entity instanceof VillagerEntity villager && ProfessionLock.isLocked(villager)) {
+                ProfessionLock.unlock(villager);
+                unlocked++;
+            }
+        }
+
+        int count = unlocked;
+        context.getSource().sendFeedback(() -> Text.literal(String.format("Unlocked %d villagers", count)), true);
+        return count;
+    }
+
+    /**
+     * Re-read the permissions file and push the resulting capabilities to online players
+     */
+    private static int reloadPermissions(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        PermissionManager.getInstance().reload(source.getServer());
+        source.sendFeedback(() -> Text.literal("Reloaded village picker permissions"), true);
+        return 1;
+    }
+
+    /**
+     * Show profession change queue depth and per-tick cost, for tuning the scheduler budget
+     */
+    private static int showQueue(CommandContext<ServerCommandSource> context) {
+        ProfessionChangeScheduler scheduler = ProfessionChangeScheduler.getInstance();
+        VillagePickerConfig.Scheduler budget = VillagePickerConfig.get().scheduler;
+
+        context.getSource().sendFeedback(() -> Text.literal(String.format(
+            "Profession queue: %d pending, last tick %d applied in %.3f ms (avg %.3f ms), budget %d changes / %.2f ms",
+            scheduler.getQueueDepth(), scheduler.getLastTickApplied(),
+            scheduler.getLastTickNanos() / 1_000_000.0, scheduler.getAverageTickNanos() / 1_000_000.0,
+            budget.maxChangesPerTick, budget.maxMillisPerTick)), false);
+        return scheduler.getQueueDepth();
+    }
+
+    /**
+     * Show profession selection metrics
+     */
+    private static int showStats(CommandContext<ServerCommandSource> context) {
+        for (String line : VillagePickerMetrics.report()) {
+            context.getSource().sendFeedback(() -> Text.literal(line), false);
+        }
+        context.getSource().sendFeedback(() -> Text.literal(String.format("Audit log: %d written, %d dropped",
+            AuditLog.getWrittenRecords(), AuditLog.getDroppedRecords())), false);
+        return (int) VillagePickerMetrics.getPacketsReceived();
+    }
+
+    /**
+     * Show rate limiter counters
+     */
+    private static int showRateLimit(CommandContext<ServerCommandSource> context) {
+        SelectionRateLimiter limiter = SelectionRateLimiter.getInstance();
+
+        context.getSource().sendFeedback(() -> Text.literal(String.format(
+            "Rate limiter: %d packets rejected, %d players kicked, %d players tracked",
+            limiter.getRejectedPackets(), limiter.getKickedPlayers(), limiter.getTrackedPlayers())), false);
+        return (int) limiter.getRejectedPackets();
+    }
+}
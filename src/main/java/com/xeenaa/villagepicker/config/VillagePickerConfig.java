@@ -0,0 +1,162 @@
+package com.xeenaa.villagepicker.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Mod configuration, stored as JSON in the Fabric config directory.
+ * The file is created with the defaults if it does not exist. An existing file is never rewritten on
+ * load: missing fields keep their defaults, and a file that fails to parse is left untouched.
+ */
+public class VillagePickerConfig {
+    private static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir()
+        .resolve(XeenaaVillagePicker.MOD_ID + ".json");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static volatile VillagePickerConfig instance = new VillagePickerConfig();
+
+    public Scheduler scheduler = new Scheduler();
+    public RateLimit rateLimit = new RateLimit();
+    public Metrics metrics = new Metrics();
+    public Audit audit = new Audit();
+    public Permissions permissions = new Permissions();
+    public Rules rules = new Rules();
+
+    /**
+     * Budget for applying queued profession changes on the server thread
+     */
+    public static class Scheduler {
+        /** Maximum number of profession changes applied per server tick */
+        public int maxChangesPerTick = 32;
+        /** Maximum time in milliseconds spent applying profession changes per server tick */
+        public double maxMillisPerTick = 2.0;
+    }
+
+    /**
+     * Per-player token bucket for profession selection packets
+     */
+    public static class RateLimit {
+        public boolean enabled = true;
+        /** Maximum tokens a player can accumulate, i.e. the allowed burst of packets */
+        public int burst = 10;
+        /** Tokens added back per second */
+        public double refillPerSecond = 4.0;
+        /** Maximum villagers a player can queue through batch packets at once; also the largest batch accepted */
+        public int batchVillagerBurst = 256;
+        /** Batch villager allowance added back per second */
+        public double batchVillagersPerSecond = 16.0;
+        /** Rejections within 10 seconds before the player is disconnected; 0 only drops packets */
+        public int kickAfterViolations = 50;
+    }
+
+    /**
+     * Server-side metrics collection
+     */
+    public static class Metrics {
+        public boolean enabled = false;
+        /** Interval for appending the metrics report to {@link #dumpFile}; 0 disables dumping */
+        public int dumpIntervalSeconds = 0;
+        /** File name inside the game's logs directory */
+        public String dumpFile = "xeenaa_village_picker-metrics.log";
+    }
+
+    /**
+     * Audit trail of profession changes
+     */
+    public static class Audit {
+        public boolean enabled = true;
+        /** File name inside the game's logs directory */
+        public String file = "xeenaa_village_picker-audit.log";
+        /** Size at which the file is rolled over to file.1, file.2, ... */
+        public int maxFileSizeKb = 10240;
+        /** Number of rolled files to keep */
+        public int maxFiles = 5;
+        /** Records buffered for the writer; records beyond this are dropped instead of blocking the tick */
+        public int queueCapacity = 8192;
+    }
+
+    /**
+     * Who may change professions. Explicit grants from the permissions file or a permissions mod
+     * win; otherwise the player needs the op level below.
+     */
+    public static class Permissions {
+        /** Op level required to change a villager's profession when no provider decides */
+        public int changeOpLevel = 0;
+        /** Op level required to change several villagers at once when no provider decides */
+        public int batchOpLevel = 0;
+        /** Ask fabric-permissions-api (LuckPerms and others) when it is installed */
+        public boolean useFabricPermissionsApi = true;
+        /** Per-player grants, file name inside the config directory */
+        public String file = "xeenaa_village_picker-permissions.json";
+        /** How long a player's resolved capabilities are reused before asking the providers again */
+        public int cacheSeconds = 30;
+    }
+
+    /**
+     * Allow/deny rules restricting which professions may be picked
+     */
+    public static class Rules {
+        /** Rules file name inside the config directory */
+        public String file = "xeenaa_village_picker-rules.json";
+        /** Reload the rules file automatically when it changes */
+        public boolean watch = true;
+    }
+
+    /**
+     * Get the currently loaded configuration
+     */
+    public static VillagePickerConfig get() {
+        return instance;
+    }
+
+    /**
+     * Get the path of a file that lives next to the main config file
+     */
+    public static Path resolveSibling(String fileName) {
+        return CONFIG_PATH.resolveSibling(fileName);
+    }
+
+    /**
+     * Load the configuration from disk, creating it with defaults if it does not exist.
+     * If the file cannot be read the current configuration is kept and the file is not touched,
+     * so a typo in a hand-edited file does not wipe it.
+     */
+    public static void load() {
+        if (!Files.exists(CONFIG_PATH)) {
+            instance = new VillagePickerConfig();
+            save();
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(CONFIG_PATH)) {
+            VillagePickerConfig loaded = GSON.fromJson(reader, VillagePickerConfig.class);
+            // An empty file parses to null
+            instance = loaded != null ? loaded : new VillagePickerConfig();
+        } catch (IOException | JsonParseException e) {
+            XeenaaVillagePicker.LOGGER.error("Failed to read config {}, keeping the current settings; "
+                + "fix the file and restart", CONFIG_PATH, e);
+        }
+    }
+
+    /**
+     * Write the current configuration to disk
+     */
+    public static void save() {
+        try {
+            Files.createDirectories(CONFIG_PATH.getParent());
+            try (Writer writer = Files.newBufferedWriter(CONFIG_PATH)) {
+                GSON.toJson(instance, writer);
+            }
+        } catch (IOException e) {
+            XeenaaVillagePicker.LOGGER.error("Failed to write config {}", CONFIG_PATH, e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.xeenaa.villagepicker.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * Recording is allocation-free; percentiles are reported as bucket upper bounds.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 48;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private volatile long maxNanos = 0;
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record one sample
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMeanNanos() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : totalNanos.sum() / samples;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Estimate a percentile, returned as the upper bound of the bucket containing it
+     *
+     * @param percentile value between 0 and 100
+     */
+    public long getPercentileNanos(double percentile) {
+        long samples = count.sum();
+        if (samples == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(samples * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= target) {
+                return bucket == 0 ? 0 : (1L << bucket) - 1;
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * One-line summary in milliseconds
+     */
+    public String summary() {
+        return String.format("%s: n=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+            name, getCount(), millis(getMeanNanos()), millis(getPercentileNanos(50)),
+            millis(getPercentileNanos(99)), millis(getMaxNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.xeenaa.villagepicker.metrics;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optionally appends the metrics report to a local file at a fixed interval, off the server thread
+ */
+public final class MetricsDumper {
+    private static ScheduledExecutorService executor;
+
+    private MetricsDumper() {
+    }
+
+    /**
+     * Start periodic dumps if configured; called when the server starts
+     */
+    public static synchronized void start() {
+        VillagePickerConfig.Metrics config = VillagePickerConfig.get().metrics;
+        if (!config.enabled || config.dumpIntervalSeconds <= 0 || executor != null) {
+            return;
+        }
+
+        Path file = FabricLoader.getInstance().getGameDir().resolve("logs").resolve(config.dumpFile);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "VillagePicker Metrics Dumper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> dump(file), config.dumpIntervalSeconds, config.dumpIntervalSeconds,
+            TimeUnit.SECONDS);
+        XeenaaVillagePicker.LOGGER.info("Dumping profession metrics to {} every {}s", file, config.dumpIntervalSeconds);
+    }
+
+    /**
+     * Stop periodic dumps; called when the server stops
+     */
+    public static synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static void dump(Path file) {
+        List<String> lines = VillagePickerMetrics.report();
+        lines.add(0, "--- " + Instant.now() + " ---");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            XeenaaVillagePicker.LOGGER.warn("Failed to write metrics to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.xeenaa.villagepicker.metrics;
+
+import com.xeenaa.villagepicker.server.ChangeResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-side metrics for profession selection.
+ * <p>
+ * Every recording method checks {@link #isEnabled()} first, so with metrics turned off the hot
+ * path costs one volatile read and never allocates. Use {@link #startTimer()} and pass the result
+ * to the {@code record...} methods; a disabled timer returns 0 and is ignored.
+ */
+public final class VillagePickerMetrics {
+    private static volatile boolean enabled = false;
+
+    private static final LongAdder packetsReceived = new LongAdder();
+    private static final LongAdder[] results = new LongAdder[ChangeResult.values().length];
+    private static final Map<Integer, Integer> catalogSizes = new ConcurrentSkipListMap<>();
+
+    public static final LatencyHistogram ARRIVAL_TO_APPLY = new LatencyHistogram("arrival -> applied");
+    public static final LatencyHistogram CHANGE_PROFESSION = new LatencyHistogram("changeProfession");
+    public static final LatencyHistogram REINITIALIZE_BRAIN = new LatencyHistogram("reinitializeBrain");
+
+    static {
+        for (int i = 0; i < results.length; i++) {
+            results[i] = new LongAdder();
+        }
+    }
+
+    private VillagePickerMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Start a timer, or return 0 when metrics are disabled
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Record the time elapsed since a timer from {@link #startTimer()} into a histogram
+     */
+    public static void recordSince(LatencyHistogram histogram, long startNanos) {
+        if (enabled && startNanos != 0L) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Count a profession packet received from a client
+     */
+    public static void packetReceived() {
+        if (enabled) {
+            packetsReceived.increment();
+        }
+    }
+
+    /**
+     * Count the outcome of one profession change request
+     */
+    public static void result(ChangeResult result) {
+        if (enabled) {
+            results[result.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Remember how many professions a catalog version contains
+     */
+    public static void catalogBuilt(int version, int size) {
+        if (enabled) {
+            catalogSizes.put(version, size);
+        }
+    }
+
+    public static long getPacketsReceived() {
+        return packetsReceived.sum();
+    }
+
+    public static long getResultCount(ChangeResult result) {
+        return results[result.ordinal()].sum();
+    }
+
+    /**
+     * Human-readable report, one line per entry
+     */
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add("metrics " + (enabled ? "enabled" : "disabled"));
+        lines.add("packets received: " + getPacketsReceived());
+        lines.add("accepted: " + getResultCount(ChangeResult.APPLIED));
+
+        StringBuilder rejected = new StringBuilder("rejected:");
+        for (ChangeResult result : ChangeResult.values()) {
+            long count = getResultCount(result);
+            if (!result.isSuccess() && count > 0) {
+                rejected.append(' ').append(result.name().toLowerCase()).append('=').append(count);
+            }
+        }
+        lines.add(rejected.toString());
+
+        lines.add(ARRIVAL_TO_APPLY.summary());
+        lines.add(CHANGE_PROFESSION.summary());
+        lines.add(REINITIALIZE_BRAIN.summary());
+
+        StringBuilder catalogs = new StringBuilder("catalog sizes:");
+        catalogSizes.forEach((version, size) -> catalogs.append(" v").append(version).append('=').append(size));
+        lines.add(catalogs.toString());
+        return lines;
+    }
+}
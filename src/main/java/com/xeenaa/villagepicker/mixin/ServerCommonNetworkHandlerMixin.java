@@ -0,0 +1,27 @@
+package com.xeenaa.villagepicker.mixin;
+
+import com.xeenaa.villagepicker.network.PacketPrevalidator;
+import net.minecraft.network.packet.c2s.common.CustomPayloadC2SPacket;
+import net.minecraft.server.network.ServerCommonNetworkHandler;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Runs cheap, world-independent checks on profession packets while still on the network thread.
+ * Runs ahead of Fabric's payload dispatch (lower priority value), so rejected packets never
+ * schedule a task on the server thread.
+ */
+@Mixin(value = ServerCommonNetworkHandler.class, priority = 900)
+public abstract class ServerCommonNetworkHandlerMixin {
+
+    @Inject(method = "onCustomPayload", at = @At("HEAD"), cancellable = true)
+    private void xeenaa$prevalidateProfessionPackets(CustomPayloadC2SPacket packet, CallbackInfo ci) {
+        if ((Object) this instanceof ServerPlayNetworkHandler handler
+                && !PacketPrevalidator.accept(handler.player, packet.payload())) {
+            ci.cancel();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.xeenaa.villagepicker.mixin;
+
+import com.llamalad7.mixinextras.injector.wrapoperation.Operation;
+import com.llamalad7.mixinextras.injector.wrapoperation.WrapOperation;
+import com.xeenaa.villagepicker.server.LockAwareTask;
+import com.xeenaa.villagepicker.server.ProfessionLock;
+import net.minecraft.entity.ai.brain.MemoryModuleType;
+import net.minecraft.entity.ai.brain.task.Task;
+import net.minecraft.entity.ai.brain.task.VillagerTaskListProvider;
+import net.minecraft.entity.mob.PathAwareEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.world.poi.PointOfInterestType;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Wraps the villager core tasks that can take a locked profession away in {@link LockAwareTask}:
+ * losing the job after losing the workstation, and workstation competition. Locked villagers keep
+ * validating and acquiring workstations of their own profession, which the work activity (and with
+ * it restocking) needs. Only villagers locked to no profession skip job site acquisition, since
+ * claiming a workstation would give them its profession.
+ */
+@Mixin(VillagerTaskListProvider.class)
+public abstract class VillagerTaskListProviderMixin {
+
+    // Acquirable workstation search; the home and meeting point searches use the other overload
+    @WrapOperation(method = "createCoreTasks", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/entity/ai/brain/task/FindPointOfInterestTask;create(Ljava/util/function/Predicate;Lnet/minecraft/entity/ai/brain/MemoryModuleType;Lnet/minecraft/entity/ai/brain/MemoryModuleType;ZLjava/util/Optional;)Lnet/minecraft/entity/ai/brain/task/Task;"))
+    private static Task<PathAwareEntity> xeenaa$lockFindJobSite(Predicate<RegistryEntry<PointOfInterestType>> poiPredicate,
+                                                               MemoryModuleType<GlobalPos> poiPosModule,
+                                                               MemoryModuleType<GlobalPos> potentialPoiPosModule,
+                                                               boolean onlyRunIfChild,
+                                                               Optional<Byte> entityStatus,
+                                                               Operation<Task<PathAwareEntity>> original) {
+        return new LockAwareTask<>(original.call(poiPredicate, poiPosModule, potentialPoiPosModule, onlyRunIfChild,
+            entityStatus), ProfessionLock::isLockedUnemployed);
+    }
+
+    @WrapOperation(method = "createCoreTasks", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/entity/ai/brain/task/WorkStationCompetitionTask;create()Lnet/minecraft/entity/ai/brain/task/Task;"))
+    private static Task<VillagerEntity> xeenaa$lockWorkStationCompetition(Operation<Task<VillagerEntity>> original) {
+        return new LockAwareTask<>(original.call());
+    }
+
+    @WrapOperation(method = "createCoreTasks", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/entity/ai/brain/task/TakeJobSiteTask;create(F)Lnet/minecraft/entity/ai/brain/task/Task;"))
+    private static Task<VillagerEntity> xeenaa$lockTakeJobSite(float speed, Operation<Task<VillagerEntity>> original) {
+        return new LockAwareTask<>(original.call(speed), ProfessionLock::isLockedUnemployed);
+    }
+
+    @WrapOperation(method = "createCoreTasks", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/entity/ai/brain/task/GoToWorkTask;create()Lnet/minecraft/entity/ai/brain/task/Task;"))
+    private static Task<VillagerEntity> xeenaa$lockGoToWork(Operation<Task<VillagerEntity>> original) {
+        return new LockAwareTask<>(original.call(), ProfessionLock::isLockedUnemployed);
+    }
+
+    @WrapOperation(method = "createCoreTasks", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/entity/ai/brain/task/LoseJobOnSiteLossTask;create()Lnet/minecraft/entity/ai/brain/task/Task;"))
+    private static Task<VillagerEntity> xeenaa$lockLoseJobOnSiteLoss(Operation<Task<VillagerEntity>> original) {
+        return new LockAwareTask<>(original.call());
+    }
+}
@@ -0,0 +1,36 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.BitSet;
+
+/**
+ * Packet sent from server to client with the catalog indices of the professions the player may pick
+ * in their current world. Sent at join, on dimension change and when the rules file is reloaded.
+ * The indices refer to the catalog with the given hash.
+ */
+public record AllowedProfessionsPacket(
+    long catalogHash,
+    BitSet allowed
+) implements CustomPayload {
+
+    public static final CustomPayload.Id<AllowedProfessionsPacket> PACKET_ID =
+        new CustomPayload.Id<>(Identifier.of(XeenaaVillagePicker.MOD_ID, "allowed_professions"));
+
+    public static final PacketCodec<RegistryByteBuf, AllowedProfessionsPacket> CODEC =
+        PacketCodec.tuple(
+            CatalogHandshakePacket.HASH_CODEC, AllowedProfessionsPacket::catalogHash,
+            PacketCodecs.BYTE_ARRAY.xmap(BitSet::valueOf, BitSet::toByteArray), AllowedProfessionsPacket::allowed,
+            AllowedProfessionsPacket::new
+        );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return PACKET_ID;
+    }
+}
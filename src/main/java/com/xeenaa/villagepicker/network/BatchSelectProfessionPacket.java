@@ -0,0 +1,45 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+
+/**
+ * Packet sent from client to server when a player assigns one profession to several villagers at once
+ */
+public record BatchSelectProfessionPacket(
+    int requestId,
+    List<Integer> villagerEntityIds,
+    ProfessionReference profession
+) implements CustomPayload {
+
+    /**
+     * Upper bound on villagers per batch, enforced while decoding
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    private static final PacketCodec<ByteBuf, List<Integer>> ENTITY_IDS_CODEC =
+        PacketCodecs.VAR_INT.collect(PacketCodecs.toList(MAX_BATCH_SIZE));
+
+    public static final CustomPayload.Id<BatchSelectProfessionPacket> PACKET_ID =
+        new CustomPayload.Id<>(Identifier.of(XeenaaVillagePicker.MOD_ID, "batch_select_profession"));
+
+    public static final PacketCodec<RegistryByteBuf, BatchSelectProfessionPacket> CODEC =
+        PacketCodec.tuple(
+            PacketCodecs.VAR_INT, BatchSelectProfessionPacket::requestId,
+            ENTITY_IDS_CODEC, BatchSelectProfessionPacket::villagerEntityIds,
+            ProfessionReference.PACKET_CODEC, BatchSelectProfessionPacket::profession,
+            BatchSelectProfessionPacket::new
+        );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return PACKET_ID;
+    }
+}
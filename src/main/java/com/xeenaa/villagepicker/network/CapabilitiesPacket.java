@@ -0,0 +1,31 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Packet sent from server to client with the player's {@link com.xeenaa.villagepicker.permission.Capability}
+ * bits, at join and whenever they change. The client only uses them to hide actions the server would reject.
+ */
+public record CapabilitiesPacket(
+    int flags
+) implements CustomPayload {
+
+    public static final CustomPayload.Id<CapabilitiesPacket> PACKET_ID =
+        new CustomPayload.Id<>(Identifier.of(XeenaaVillagePicker.MOD_ID, "capabilities"));
+
+    public static final PacketCodec<RegistryByteBuf, CapabilitiesPacket> CODEC =
+        PacketCodec.tuple(
+            PacketCodecs.VAR_INT, CapabilitiesPacket::flags,
+            CapabilitiesPacket::new
+        );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return PACKET_ID;
+    }
+}
@@ -0,0 +1,38 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Packet sent from server to client at join, carrying the hash of the server's profession catalog.
+ * The client only uses compact profession indices when its own catalog hash matches.
+ */
+public record CatalogHandshakePacket(
+    long catalogHash
+) implements CustomPayload {
+
+    public static final CustomPayload.Id<CatalogHandshakePacket> PACKET_ID =
+        new CustomPayload.Id<>(Identifier.of(XeenaaVillagePicker.MOD_ID, "catalog_handshake"));
+
+    /**
+     * Wire format of a catalog hash in every catalog packet. A 64-bit hash nearly always has its high
+     * bits set, so a fixed-width long (8 bytes) is smaller than a VarLong (10 bytes).
+     */
+    public static final PacketCodec<ByteBuf, Long> HASH_CODEC = PacketCodecs.LONG;
+
+    public static final PacketCodec<RegistryByteBuf, CatalogHandshakePacket> CODEC =
+        PacketCodec.tuple(
+            HASH_CODEC, CatalogHandshakePacket::catalogHash,
+            CatalogHandshakePacket::new
+        );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return PACKET_ID;
+    }
+}
@@ -0,0 +1,30 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Packet sent from client to server when the client has no cached copy of the catalog
+ * announced in the {@link CatalogHandshakePacket}
+ */
+public record CatalogRequestPacket(
+    long catalogHash
+) implements CustomPayload {
+
+    public static final CustomPayload.Id<CatalogRequestPacket> PACKET_ID =
+        new CustomPayload.Id<>(Identifier.of(XeenaaVillagePicker.MOD_ID, "catalog_request"));
+
+    public static final PacketCodec<RegistryByteBuf, CatalogRequestPacket> CODEC =
+        PacketCodec.tuple(
+            CatalogHandshakePacket.HASH_CODEC, CatalogRequestPacket::catalogHash,
+            CatalogRequestPacket::new
+        );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return PACKET_ID;
+    }
+}
@@ -0,0 +1,47 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.registry.CatalogEntry;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+
+/**
+ * Packet sent from server to client with the full profession catalog, in catalog order.
+ * Only sent on request, when the client does not have the catalog cached.
+ */
+public record CatalogSyncPacket(
+    long catalogHash,
+    List<CatalogEntry> entries
+) implements CustomPayload {
+
+    public static final int MAX_ENTRIES = 16384;
+
+    public static final CustomPayload.Id<CatalogSyncPacket> PACKET_ID =
+        new CustomPayload.Id<>(Identifier.of(XeenaaVillagePicker.MOD_ID, "catalog_sync"));
+
+    private static final PacketCodec<PacketByteBuf, CatalogEntry> ENTRY_CODEC =
+        PacketCodec.tuple(
+            Identifier.PACKET_CODEC, CatalogEntry::id,
+            PacketCodecs.optional(Identifier.PACKET_CODEC), CatalogEntry::workstation,
+            PacketCodecs.BOOL, CatalogEntry::vanilla,
+            CatalogEntry::new
+        );
+
+    public static final PacketCodec<RegistryByteBuf, CatalogSyncPacket> CODEC =
+        PacketCodec.tuple(
+            CatalogHandshakePacket.HASH_CODEC, CatalogSyncPacket::catalogHash,
+            ENTRY_CODEC.collect(PacketCodecs.toList(MAX_ENTRIES)), CatalogSyncPacket::entries,
+            CatalogSyncPacket::new
+        );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return PACKET_ID;
+    }
+}
@@ -0,0 +1,139 @@
+package com.xeenaa.villagepicker.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.metrics.VillagePickerMetrics;
+import com.xeenaa.villagepicker.permission.Capability;
+import com.xeenaa.villagepicker.permission.PermissionManager;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionManager;
+import com.xeenaa.villagepicker.server.ChangeResult;
+import com.xeenaa.villagepicker.server.ProfessionChangeScheduler;
+import com.xeenaa.villagepicker.server.SelectionRateLimiter;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Checks on profession packets that do not touch the world, run on the network thread
+ * before the packet is handed to the server thread. Everything used here is either
+ * immutable (the catalog snapshot) or thread-safe (rate limiter, cached capability bits, scheduler queue).
+ * Checks that read the player's world or team, such as profession rules, run on the server thread
+ * in {@link com.xeenaa.villagepicker.server.VillagerProfessionHelper}.
+ */
+public final class PacketPrevalidator {
+    // A catalog sync can be large, so requesting one costs several selections' worth of tokens
+    private static final int CATALOG_REQUEST_COST = 4;
+    // Arrival time of accepted packets until their handler picks it up; weak keys compare by identity
+    private static final Cache<CustomPayload, Long> ARRIVALS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private PacketPrevalidator() {
+    }
+
+    /**
+     * @return false if the payload should be dropped without reaching the server thread
+     */
+    public static boolean accept(ServerPlayerEntity player, CustomPayload payload) {
+        long arrivalNanos = VillagePickerMetrics.startTimer();
+        ChangeResult rejection;
+        if (payload instanceof SelectProfessionPacket select) {
+            rejection = checkSelect(player, select);
+        } else if (payload instanceof BatchSelectProfessionPacket batch) {
+            rejection = checkBatch(player, batch);
+        } else if (payload instanceof CatalogRequestPacket) {
+            return SelectionRateLimiter.getInstance().tryAcquire(player, CATALOG_REQUEST_COST);
+        } else {
+            return true;
+        }
+
+        VillagePickerMetrics.packetReceived();
+        if (rejection != null) {
+            VillagePickerMetrics.result(rejection);
+            // Answering rate limited packets would only add to the traffic; the client times those out
+            if (rejection != ChangeResult.RATE_LIMITED) {
+                ServerPacketHandler.sendResult(player, requestId(payload), villagerEntityId(payload), rejection);
+            }
+            return false;
+        }
+        if (arrivalNanos != 0L) {
+            ARRIVALS.put(payload, arrivalNanos);
+        }
+        return true;
+    }
+
+    /**
+     * Take the time a packet accepted by {@link #accept} arrived on the network thread,
+     * or 0 if it was not recorded (metrics disabled)
+     */
+    public static long takeArrivalNanos(CustomPayload payload) {
+        Long arrivalNanos = ARRIVALS.asMap().remove(payload);
+        return arrivalNanos != null ? arrivalNanos : 0L;
+    }
+
+    private static int requestId(CustomPayload payload) {
+        return payload instanceof SelectProfessionPacket select
+            ? select.requestId()
+            : ((BatchSelectProfessionPacket) payload).requestId();
+    }
+
+    /**
+     * The villager a rejection applies to; batch packets are rejected as a whole
+     */
+    private static int villagerEntityId(CustomPayload payload) {
+        return payload instanceof SelectProfessionPacket select
+            ? select.villagerEntityId()
+            : ProfessionResultPacket.ALL_VILLAGERS;
+    }
+
+    /**
+     * @return the rejection reason, or null if the packet passes
+     */
+    private static ChangeResult checkSelect(ServerPlayerEntity player, SelectProfessionPacket packet) {
+        if (!SelectionRateLimiter.getInstance().tryAcquire(player, 1)) {
+            return ChangeResult.RATE_LIMITED;
+        }
+        if (!PermissionManager.getInstance().has(player, Capability.CHANGE_PROFESSION)) {
+            return ChangeResult.NO_PERMISSION;
+        }
+
+        ProfessionData professionData = resolve(packet.profession());
+        if (professionData == null) {
+            return ChangeResult.UNKNOWN_PROFESSION;
+        }
+
+        // The same change is already waiting in the queue, nothing new to do
+        if (ProfessionChangeScheduler.getInstance().isPending(packet.villagerEntityId(), professionData)) {
+            XeenaaVillagePicker.LOGGER.debug("Dropping duplicate profession selection for villager {}",
+                packet.villagerEntityId());
+            return ChangeResult.DUPLICATE;
+        }
+        return null;
+    }
+
+    /**
+     * @return the rejection reason, or null if the packet passes
+     */
+    private static ChangeResult checkBatch(ServerPlayerEntity player, BatchSelectProfessionPacket packet) {
+        if (packet.villagerEntityIds().isEmpty()) {
+            return ChangeResult.INVALID_REQUEST;
+        }
+        if (!SelectionRateLimiter.getInstance().tryAcquire(player, 1, packet.villagerEntityIds().size())) {
+            return ChangeResult.RATE_LIMITED;
+        }
+        int capabilities = PermissionManager.getInstance().getCapabilities(player);
+        if (!Capability.CHANGE_PROFESSION.isSet(capabilities) || !Capability.BATCH_SELECT.isSet(capabilities)) {
+            return ChangeResult.NO_PERMISSION;
+        }
+        return resolve(packet.profession()) != null ? null : ChangeResult.UNKNOWN_PROFESSION;
+    }
+
+    private static ProfessionData resolve(ProfessionReference reference) {
+        ProfessionCatalog catalog = ProfessionManager.getInstance().getCatalog();
+        ProfessionData professionData = reference.resolve(catalog);
+        if (professionData == null) {
+            XeenaaVillagePicker.LOGGER.debug("Dropping profession packet with unknown profession {}", reference);
+        }
+        return professionData;
+    }
+}
@@ -0,0 +1,73 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.util.Identifier;
+
+/**
+ * Reference to a profession inside a packet.
+ * <p>
+ * When client and server agreed on the catalog hash at join, the dense profession index is sent
+ * as a VarInt, together with the hash of the catalog it belongs to. Otherwise the full identifier
+ * is sent as a fallback. An index for a catalog the server no longer has (e.g. after a data pack
+ * reload changed it) does not resolve, rather than picking whatever profession now has that index.
+ */
+public record ProfessionReference(
+    int index,
+    long catalogHash,
+    Identifier id
+) {
+
+    public static final PacketCodec<PacketByteBuf, ProfessionReference> PACKET_CODEC =
+        PacketCodec.of(ProfessionReference::write, ProfessionReference::read);
+
+    /**
+     * Reference a profession by its index in the catalog with the given hash
+     */
+    public static ProfessionReference compact(int index, long catalogHash) {
+        return new ProfessionReference(index, catalogHash, null);
+    }
+
+    /**
+     * Reference a profession by its full identifier
+     */
+    public static ProfessionReference byId(Identifier id) {
+        return new ProfessionReference(-1, 0, id);
+    }
+
+    /**
+     * Resolve the referenced profession against the given catalog, or null if unknown or if the
+     * index refers to a different catalog
+     */
+    public ProfessionData resolve(ProfessionCatalog catalog) {
+        if (id != null) {
+            return catalog.get(id);
+        }
+        return catalogHash == catalog.hash() ? catalog.get(index) : null;
+    }
+
+    private void write(PacketByteBuf buf) {
+        // Index is shifted by one so that 0 marks the identifier fallback
+        buf.writeVarInt(id != null ? 0 : index + 1);
+        if (id != null) {
+            buf.writeIdentifier(id);
+        } else {
+            CatalogHandshakePacket.HASH_CODEC.encode(buf, catalogHash);
+        }
+    }
+
+    private static ProfessionReference read(PacketByteBuf buf) {
+        int encodedIndex = buf.readVarInt();
+        if (encodedIndex == 0) {
+            return byId(buf.readIdentifier());
+        }
+        return compact(encodedIndex - 1, CatalogHandshakePacket.HASH_CODEC.decode(buf));
+    }
+
+    @Override
+    public String toString() {
+        return id != null ? id.toString() : "#" + index + "@" + Long.toHexString(catalogHash);
+    }
+}
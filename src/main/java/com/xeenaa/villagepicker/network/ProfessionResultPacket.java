@@ -0,0 +1,42 @@
+package com.xeenaa.villagepicker.network;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.server.ChangeResult;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Packet sent from server to client with the outcome of a profession selection request.
+ * Batch requests get one result per villager, or a single result with villager id
+ * {@link #ALL_VILLAGERS} if the whole request was rejected.
+ */
+public record ProfessionResultPacket(
+    int requestId,
+    int villagerEntityId,
+    ChangeResult result
+) implements CustomPayload {
+
+    public static final int ALL_VILLAGERS = -1;
+
+    public static final CustomPayload.Id<ProfessionResultPacket> PACKET_ID =
+        new CustomPayload.Id<>(Identifier.of(XeenaaVillagePicker.MOD_ID, "profession_result"));
+
+    private static final ChangeResult[] RESULTS = ChangeResult.values();
+
+    public static final PacketCodec<RegistryByteBuf, ProfessionResultPacket> CODEC =
+        PacketCodec.tuple(
+            PacketCodecs.VAR_INT, ProfessionResultPacket::requestId,
+            PacketCodecs.VAR_INT, ProfessionResultPacket::villagerEntityId,
+            PacketCodecs.indexed(ordinal -> RESULTS[Math.floorMod(ordinal, RESULTS.length)], ChangeResult::ordinal),
+            ProfessionResultPacket::result,
+            ProfessionResultPacket::new
+        );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return PACKET_ID;
+    }
+}
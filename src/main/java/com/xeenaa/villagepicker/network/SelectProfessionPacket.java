@@ -8,11 +8,13 @@ import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.util.Identifier;
 
 /**
- * Packet sent from client to server when a player selects a profession for a villager
+ * Packet sent from client to server when a player selects a profession for a villager.
+ * The request id is echoed back in the {@link ProfessionResultPacket}.
  */
 public record SelectProfessionPacket(
+    int requestId,
     int villagerEntityId,
-    Identifier professionId
+    ProfessionReference profession
 ) implements CustomPayload {
 
     public static final CustomPayload.Id<SelectProfessionPacket> PACKET_ID =
@@ -20,8 +22,9 @@ public record SelectProfessionPacket(
 
     public static final PacketCodec<RegistryByteBuf, SelectProfessionPacket> CODEC =
         PacketCodec.tuple(
+            PacketCodecs.VAR_INT, SelectProfessionPacket::requestId,
             PacketCodecs.VAR_INT, SelectProfessionPacket::villagerEntityId,
-            Identifier.PACKET_CODEC, SelectProfessionPacket::professionId,
+            ProfessionReference.PACKET_CODEC, SelectProfessionPacket::profession,
             SelectProfessionPacket::new
         );
 
@@ -29,4 +32,4 @@ public record SelectProfessionPacket(
     public CustomPayload.Id<? extends CustomPayload> getId() {
         return PACKET_ID;
     }
-}
\ No newline at end of file
+}
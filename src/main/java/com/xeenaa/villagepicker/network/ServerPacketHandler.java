@@ -1,16 +1,22 @@
 package com.xeenaa.villagepicker.network;
 
 import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionManager;
+import com.xeenaa.villagepicker.server.ChangeResult;
+import com.xeenaa.villagepicker.server.ProfessionChangeScheduler;
+import com.xeenaa.villagepicker.server.SelectionRateLimiter;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.passive.VillagerEntity;
-import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.server.world.ServerWorld;
-import net.minecraft.village.VillagerProfession;
 
 /**
- * Handles incoming network packets on the server side
+ * Handles incoming network packets on the server side.
+ * <p>
+ * Rate limiting, profession lookup and duplicate suppression already ran on the network thread
+ * in {@link PacketPrevalidator}, so these handlers only see packets that passed those checks.
  */
 public class ServerPacketHandler {
 
@@ -21,104 +27,96 @@ public class ServerPacketHandler {
         XeenaaVillagePicker.LOGGER.info("Registering server-side packet handlers");
 
         ServerPlayNetworking.registerGlobalReceiver(SelectProfessionPacket.PACKET_ID, ServerPacketHandler::handleSelectProfession);
+        ServerPlayNetworking.registerGlobalReceiver(BatchSelectProfessionPacket.PACKET_ID,
+            ServerPacketHandler::handleBatchSelectProfession);
+        ServerPlayNetworking.registerGlobalReceiver(CatalogRequestPacket.PACKET_ID, ServerPacketHandler::handleCatalogRequest);
+
+        // Drop per-player rate limiting state when players leave
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+            SelectionRateLimiter.getInstance().remove(handler.player.getUuid()));
+
+        // Tell joining clients which catalog the compact profession indices refer to;
+        // clients without that catalog cached ask for it with a CatalogRequestPacket
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) ->
+            sender.sendPacket(new CatalogHandshakePacket(ProfessionManager.getInstance().getCatalog().hash())));
     }
 
     /**
-     * Handle profession selection packet from client
+     * Handle profession selection packet from client.
+     * The change is queued and applied by the {@link ProfessionChangeScheduler} within its per-tick budget.
      */
     private static void handleSelectProfession(SelectProfessionPacket packet, ServerPlayNetworking.Context context) {
         ServerPlayerEntity player = context.player();
-        // Ensure we're running on the server thread
-        player.getServer().execute(() -> {
-            try {
-                XeenaaVillagePicker.LOGGER.info("Processing profession selection from player: {}", player.getName().getString());
-
-                // Find the villager entity
-                ServerWorld world = (ServerWorld) player.getWorld();
-                Entity entity = world.getEntityById(packet.villagerEntityId());
-
-                if (!(entity instanceof VillagerEntity villager)) {
-                    XeenaaVillagePicker.LOGGER.warn("Entity {} is not a villager or not found", packet.villagerEntityId());
-                    return;
-                }
-
-                // Validate the profession exists
-                VillagerProfession profession = Registries.VILLAGER_PROFESSION.get(packet.professionId());
-                if (profession == null) {
-                    XeenaaVillagePicker.LOGGER.warn("Unknown profession: {}", packet.professionId());
-                    return;
-                }
-
-                // Validate the player can interact with this villager
-                if (!canPlayerChangeProfession(player, villager)) {
-                    XeenaaVillagePicker.LOGGER.warn("Player {} cannot change profession of villager {}",
-                        player.getName().getString(), packet.villagerEntityId());
-                    return;
-                }
-
-                // Change the villager's profession
-                changeProfession(villager, profession);
-
-                XeenaaVillagePicker.LOGGER.info("Successfully changed villager {} profession to {}",
-                    packet.villagerEntityId(), packet.professionId());
-
-            } catch (Exception e) {
-                XeenaaVillagePicker.LOGGER.error("Error processing profession selection packet", e);
-            }
-        });
+        XeenaaVillagePicker.LOGGER.debug("Processing profession selection from player: {}", player.getName().getString());
+
+        // Validate the profession exists
+        ProfessionData professionData = packet.profession().resolve(ProfessionManager.getInstance().getCatalog());
+        if (professionData == null) {
+            XeenaaVillagePicker.LOGGER.warn("Unknown profession: {}", packet.profession());
+            return;
+        }
+
+        ProfessionChangeScheduler.getInstance().enqueue(player, packet.requestId(), packet.villagerEntityId(),
+            professionData, PacketPrevalidator.takeArrivalNanos(packet));
     }
 
     /**
-     * Check if the player can change the profession of this villager
+     * Handle batch profession selection packet from client.
+     * The profession is resolved once and every villager is queued for the {@link ProfessionChangeScheduler}.
      */
-    private static boolean canPlayerChangeProfession(ServerPlayerEntity player, VillagerEntity villager) {
-        // Basic validation checks
-        if (villager.isRemoved()) {
-            return false;
-        }
+    private static void handleBatchSelectProfession(BatchSelectProfessionPacket packet,
+                                                    ServerPlayNetworking.Context context) {
+        ServerPlayerEntity player = context.player();
 
-        // Check if villager is a baby (babies cannot have professions changed)
-        if (villager.isBaby()) {
-            XeenaaVillagePicker.LOGGER.debug("Cannot change profession of baby villager");
-            return false;
+        ProfessionData professionData = packet.profession().resolve(ProfessionManager.getInstance().getCatalog());
+        if (professionData == null) {
+            XeenaaVillagePicker.LOGGER.warn("Unknown profession in batch: {}", packet.profession());
+            return;
         }
 
-        // Check distance (prevent cheating with distant villagers)
-        double distance = player.squaredDistanceTo(villager);
-        if (distance > 64.0) { // 8 block radius
-            XeenaaVillagePicker.LOGGER.debug("Player too far from villager: {} blocks", Math.sqrt(distance));
-            return false;
+        ProfessionChangeScheduler scheduler = ProfessionChangeScheduler.getInstance();
+        long arrivalNanos = PacketPrevalidator.takeArrivalNanos(packet);
+        for (int villagerEntityId : packet.villagerEntityIds()) {
+            scheduler.enqueue(player, packet.requestId(), villagerEntityId, professionData, arrivalNanos);
         }
 
-        // Additional permission checks can be added here
-        // For now, allow all profession changes
-        return true;
+        XeenaaVillagePicker.LOGGER.debug("Player {} queued {} villagers for profession {}",
+            player.getName().getString(), packet.villagerEntityIds().size(), professionData.getId());
     }
 
     /**
-     * Change a villager's profession
+     * Tell a player the outcome of one of their requests. Safe to call from the network thread.
      */
-    private static void changeProfession(VillagerEntity villager, VillagerProfession profession) {
-        // Store the original profession and villager data for logging
-        VillagerProfession originalProfession = villager.getVillagerData().getProfession();
-        int originalLevel = villager.getVillagerData().getLevel();
-
-        // Apply profession change with trade locking for persistence
-        XeenaaVillagePicker.LOGGER.info("Changing villager {} profession from {} to {}",
-            villager.getId(),
-            Registries.VILLAGER_PROFESSION.getId(originalProfession),
-            Registries.VILLAGER_PROFESSION.getId(profession));
-
-        // Set the new profession
-        villager.setVillagerData(villager.getVillagerData().withProfession(profession));
-
-        // Lock profession by setting experience to master level (250 XP)
-        // This prevents the profession from being reset by villager AI
-        villager.setExperience(250);
-        villager.setVillagerData(villager.getVillagerData().withLevel(5));
-
-        // Reinitialize brain for normal AI behavior
-        villager.reinitializeBrain((ServerWorld) villager.getWorld());
+    public static void sendResult(ServerPlayerEntity player, int requestId, int villagerEntityId, ChangeResult result) {
+        if (ServerPlayNetworking.canSend(player, ProfessionResultPacket.PACKET_ID)) {
+            ServerPlayNetworking.send(player, new ProfessionResultPacket(requestId, villagerEntityId, result));
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * Announce the current catalog hash to every online player, after the catalog changed at runtime.
+     * Until a client has caught up, its compact indices carry the old hash and are rejected.
+     */
+    public static void announceCatalog(MinecraftServer server) {
+        CatalogHandshakePacket handshake = new CatalogHandshakePacket(ProfessionManager.getInstance().getCatalog().hash());
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            if (ServerPlayNetworking.canSend(player, CatalogHandshakePacket.PACKET_ID)) {
+                ServerPlayNetworking.send(player, handshake);
+            }
+        }
+    }
+
+    /**
+     * Send the full catalog to a client that does not have it cached.
+     * The current catalog is sent even if it no longer matches the requested hash; the client
+     * verifies the hash of what it receives.
+     */
+    private static void handleCatalogRequest(CatalogRequestPacket packet, ServerPlayNetworking.Context context) {
+        ProfessionCatalog catalog = ProfessionManager.getInstance().getCatalog();
+        if (packet.catalogHash() != catalog.hash()) {
+            XeenaaVillagePicker.LOGGER.debug("Player {} requested stale catalog {}, sending current one",
+                context.player().getName().getString(), Long.toHexString(packet.catalogHash()));
+        }
+        context.responseSender().sendPacket(new CatalogSyncPacket(catalog.hash(), catalog.entries()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.xeenaa.villagepicker.permission;
+
+/**
+ * Actions a player may be allowed to perform, sent to the client as a bit set
+ */
+public enum Capability {
+    CHANGE_PROFESSION("change", 1),
+    BATCH_SELECT("batch", 1 << 1);
+
+    /** Flags of every capability */
+    public static final int ALL = CHANGE_PROFESSION.bit | BATCH_SELECT.bit;
+
+    private final String key;
+    private final int bit;
+
+    Capability(String key, int bit) {
+        this.key = key;
+        this.bit = bit;
+    }
+
+    /**
+     * Short name used in the permissions file
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Permission node, e.g. {@code xeenaa_village_picker.change}
+     */
+    public String getNode() {
+        return "xeenaa_village_picker." + key;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public boolean isSet(int flags) {
+        return (flags & bit) != 0;
+    }
+}
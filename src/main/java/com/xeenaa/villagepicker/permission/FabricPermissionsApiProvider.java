@@ -0,0 +1,23 @@
+package com.xeenaa.villagepicker.permission;
+
+import me.lucko.fabric.api.permissions.v0.Permissions;
+import net.fabricmc.fabric.api.util.TriState;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Delegates to the fabric-permissions-api (LuckPerms and others) using the capability permission nodes.
+ * Only instantiated when that mod is loaded.
+ */
+public class FabricPermissionsApiProvider implements PermissionProvider {
+    public static final String MOD_ID = "fabric-permissions-api-v0";
+
+    @Override
+    public TriState check(ServerPlayerEntity player, Capability capability) {
+        return Permissions.getPermissionValue(player, capability.getNode());
+    }
+
+    @Override
+    public String getName() {
+        return "fabric-permissions-api";
+    }
+}
@@ -0,0 +1,94 @@
+package com.xeenaa.villagepicker.permission;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import net.fabricmc.fabric.api.util.TriState;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-player grants and denials from a local JSON file, keyed by player name or UUID:
+ * <pre>{"players": {"Steve": {"change": true, "batch": false}}}</pre>
+ */
+public class FilePermissionProvider implements PermissionProvider {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path file;
+    private volatile Map<String, Map<String, Boolean>> players = Map.of();
+
+    public FilePermissionProvider(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * File layout, as read by Gson
+     */
+    private static class PermissionsFile {
+        Map<String, Map<String, Boolean>> players = new HashMap<>();
+    }
+
+    /**
+     * Read the file, creating an empty one if it does not exist
+     */
+    public void load() {
+        PermissionsFile loaded = null;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                loaded = GSON.fromJson(reader, PermissionsFile.class);
+            } catch (IOException | JsonParseException e) {
+                XeenaaVillagePicker.LOGGER.error("Failed to read permissions {}, keeping previous entries", file, e);
+                return;
+            }
+        } else {
+            loaded = new PermissionsFile();
+            try {
+                Files.createDirectories(file.getParent());
+                try (Writer writer = Files.newBufferedWriter(file)) {
+                    GSON.toJson(loaded, writer);
+                }
+            } catch (IOException e) {
+                XeenaaVillagePicker.LOGGER.error("Failed to write permissions {}", file, e);
+            }
+        }
+
+        // Names are matched case-insensitively, like the game does
+        Map<String, Map<String, Boolean>> entries = new HashMap<>();
+        if (loaded != null && loaded.players != null) {
+            loaded.players.forEach((player, grants) -> {
+                if (grants != null) {
+                    entries.put(player.toLowerCase(Locale.ROOT), Map.copyOf(grants));
+                }
+            });
+        }
+        players = Map.copyOf(entries);
+    }
+
+    @Override
+    public TriState check(ServerPlayerEntity player, Capability capability) {
+        Map<String, Boolean> grants = players.get(player.getUuidAsString());
+        if (grants == null) {
+            grants = players.get(player.getGameProfile().getName().toLowerCase(Locale.ROOT));
+        }
+        Boolean granted = grants != null ? grants.get(capability.getKey()) : null;
+        return granted == null ? TriState.DEFAULT : TriState.of(granted);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+}
@@ -0,0 +1,187 @@
+package com.xeenaa.villagepicker.permission;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import com.xeenaa.villagepicker.network.CapabilitiesPacket;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.fabricmc.fabric.api.util.TriState;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves which {@link Capability capabilities} a player has and caches the result per player.
+ * <p>
+ * Lookups are a single map read while the entry is fresh. Providers are only asked on the server
+ * thread: callers on the network thread get the previous flags while an expired entry is refreshed,
+ * and no capabilities at all while a missing entry is resolved. Entries are dropped on join and
+ * disconnect and resolved again for every online player on {@link #reload}.
+ */
+public final class PermissionManager {
+    private static final PermissionManager INSTANCE = new PermissionManager();
+
+    private final Map<UUID, Decision> cache = new ConcurrentHashMap<>();
+    private volatile List<PermissionProvider> providers = List.of();
+    private FilePermissionProvider fileProvider;
+
+    private PermissionManager() {
+    }
+
+    public static PermissionManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Resolved flags and the time, in {@link System#nanoTime()}, after which they are refreshed.
+     * Provisional decisions stand in for a missing entry until the server thread has resolved it.
+     */
+    private record Decision(int flags, long expiresAt, boolean provisional) {}
+
+    /**
+     * Load providers and invalidate players' cached capabilities as they join and leave
+     */
+    public void register() {
+        loadProviders();
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            cache.remove(handler.player.getUuid());
+            sendCapabilities(handler.player, getCapabilities(handler.player));
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+            cache.remove(handler.player.getUuid()));
+    }
+
+    private void loadProviders() {
+        // The same file keeps its provider, which keeps the previous entries if the file is broken
+        Path file = VillagePickerConfig.resolveSibling(VillagePickerConfig.get().permissions.file);
+        if (fileProvider == null || !fileProvider.getFile().equals(file)) {
+            fileProvider = new FilePermissionProvider(file);
+        }
+        fileProvider.load();
+
+        List<PermissionProvider> loaded = new ArrayList<>();
+        loaded.add(fileProvider);
+        if (VillagePickerConfig.get().permissions.useFabricPermissionsApi
+                && FabricLoader.getInstance().isModLoaded(FabricPermissionsApiProvider.MOD_ID)) {
+            loaded.add(new FabricPermissionsApiProvider());
+        }
+        providers = List.copyOf(loaded);
+
+        XeenaaVillagePicker.LOGGER.info("Permission providers: {}",
+            loaded.stream().map(PermissionProvider::getName).toList());
+    }
+
+    /**
+     * Re-read the permissions file and rebuild the providers, then resolve every online player again and
+     * send them their new capabilities. The mod config itself is not reloaded. Must run on the server thread.
+     */
+    public void reload(MinecraftServer server) {
+        loadProviders();
+        // Entries are replaced rather than cleared, so the network thread never sees a gap
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            refresh(player);
+        }
+    }
+
+    /**
+     * Check a single capability. Safe to call from the network thread.
+     */
+    public boolean has(ServerPlayerEntity player, Capability capability) {
+        return capability.isSet(getCapabilities(player));
+    }
+
+    /**
+     * Get the player's capabilities as {@link Capability} bits. Safe to call from the network thread.
+     */
+    public int getCapabilities(ServerPlayerEntity player) {
+        UUID uuid = player.getUuid();
+        long now = System.nanoTime();
+        Decision decision = cache.get(uuid);
+        if (decision != null && now - decision.expiresAt() < 0) {
+            return decision.flags();
+        }
+
+        MinecraftServer server = player.getServer();
+        if (server == null || server.isOnThread()) {
+            return resolve(player, now);
+        }
+
+        // Off the server thread: answer with the previous flags, or none if there are none yet,
+        // and resolve once on the server thread. The placeholder keeps other packets from
+        // scheduling the same refresh.
+        if (decision == null) {
+            Decision pending = new Decision(0, now + ttlNanos(), true);
+            if (cache.putIfAbsent(uuid, pending) == null) {
+                server.execute(() -> refresh(player));
+                return pending.flags();
+            }
+            return getCapabilities(player);
+        }
+        if (cache.replace(uuid, decision, new Decision(decision.flags(), now + ttlNanos(), decision.provisional()))) {
+            server.execute(() -> refresh(player));
+        }
+        return decision.flags();
+    }
+
+    /**
+     * Forget a player's cached capabilities, e.g. after their permission group changed.
+     * Network thread checks deny until the server thread has resolved them again.
+     */
+    public void invalidate(UUID uuid) {
+        cache.remove(uuid);
+    }
+
+    private void refresh(ServerPlayerEntity player) {
+        if (player.isDisconnected()) {
+            return;
+        }
+        Decision previous = cache.get(player.getUuid());
+        int flags = resolve(player, System.nanoTime());
+        if (previous == null || previous.provisional() || previous.flags() != flags) {
+            sendCapabilities(player, flags);
+        }
+    }
+
+    private int resolve(ServerPlayerEntity player, long now) {
+        VillagePickerConfig.Permissions config = VillagePickerConfig.get().permissions;
+        int flags = 0;
+        if (check(player, Capability.CHANGE_PROFESSION, config.changeOpLevel)) {
+            flags |= Capability.CHANGE_PROFESSION.getBit();
+        }
+        if (check(player, Capability.BATCH_SELECT, config.batchOpLevel)) {
+            flags |= Capability.BATCH_SELECT.getBit();
+        }
+
+        cache.put(player.getUuid(), new Decision(flags, now + ttlNanos(), false));
+        return flags;
+    }
+
+    private boolean check(ServerPlayerEntity player, Capability capability, int opLevel) {
+        for (PermissionProvider provider : providers) {
+            TriState state = provider.check(player, capability);
+            if (state != TriState.DEFAULT) {
+                return state.get();
+            }
+        }
+        return player.hasPermissionLevel(opLevel);
+    }
+
+    private static long ttlNanos() {
+        return TimeUnit.SECONDS.toNanos(Math.max(1, VillagePickerConfig.get().permissions.cacheSeconds));
+    }
+
+    private static void sendCapabilities(ServerPlayerEntity player, int flags) {
+        if (ServerPlayNetworking.canSend(player, CapabilitiesPacket.PACKET_ID)) {
+            ServerPlayNetworking.send(player, new CapabilitiesPacket(flags));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.xeenaa.villagepicker.permission;
+
+import net.fabricmc.fabric.api.util.TriState;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Source of permission decisions. Providers are asked in order; the first one that does not
+ * return {@link TriState#DEFAULT} decides, otherwise the configured op level does.
+ */
+public interface PermissionProvider {
+
+    TriState check(ServerPlayerEntity player, Capability capability);
+
+    String getName();
+}
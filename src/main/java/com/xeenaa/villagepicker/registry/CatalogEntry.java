@@ -0,0 +1,16 @@
+package com.xeenaa.villagepicker.registry;
+
+import net.minecraft.util.Identifier;
+
+import java.util.Optional;
+
+/**
+ * Compact description of one catalog profession, as sent from server to client.
+ * A list of entries in catalog order is enough to rebuild the same catalog, indices included.
+ */
+public record CatalogEntry(
+    Identifier id,
+    Optional<Identifier> workstation,
+    boolean vanilla
+) {
+}
@@ -0,0 +1,238 @@
+package com.xeenaa.villagepicker.registry;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of every registered profession, built once per registry state.
+ * All views (sorted data, vanilla/modded splits, by-id lookups) are precomputed so
+ * readers never allocate or re-sort.
+ */
+public final class ProfessionCatalog {
+    private final int version;
+    private final List<Identifier> registryIds;
+    private final List<VillagerProfession> registryProfessions;
+    private final List<ProfessionData> sorted;
+    private final List<ProfessionData> vanilla;
+    private final List<ProfessionData> modded;
+    private final Map<Identifier, ProfessionData> byId;
+    private final ProfessionData[] byIndex;
+    private final long hash;
+    private final WorkstationIndex workstations;
+    private final List<CatalogEntry> entries;
+
+    private ProfessionCatalog(int version, List<Identifier> registryIds, List<VillagerProfession> registryProfessions,
+                              ProfessionData[] sorted, WorkstationIndex workstations) {
+        this.version = version;
+        this.workstations = workstations;
+        this.registryIds = registryIds;
+        this.registryProfessions = registryProfessions;
+        this.sorted = List.of(sorted);
+        this.byIndex = sorted;
+        this.hash = computeHash(sorted);
+
+        List<ProfessionData> vanillaData = new ArrayList<>();
+        List<ProfessionData> moddedData = new ArrayList<>();
+        Map<Identifier, ProfessionData> lookup = new HashMap<>(sorted.length * 2);
+        for (ProfessionData data : sorted) {
+            (data.isVanilla() ? vanillaData : moddedData).add(data);
+            lookup.put(data.getId(), data);
+        }
+        this.vanilla = List.copyOf(vanillaData);
+        this.modded = List.copyOf(moddedData);
+        this.byId = Map.copyOf(lookup);
+
+        List<CatalogEntry> catalogEntries = new ArrayList<>(sorted.length);
+        for (ProfessionData data : sorted) {
+            Block workstation = data.getWorkstation();
+            catalogEntries.add(new CatalogEntry(data.getId(),
+                Optional.ofNullable(workstation).map(Registries.BLOCK::getId), data.isVanilla()));
+        }
+        this.entries = List.copyOf(catalogEntries);
+    }
+
+    /**
+     * Build a catalog from professions in registry order
+     */
+    public static ProfessionCatalog build(int version, Map<Identifier, VillagerProfession> professions) {
+        WorkstationIndex workstations = WorkstationIndex.build(professions);
+        ProfessionData[] data = new ProfessionData[professions.size()];
+        int i = 0;
+        for (Map.Entry<Identifier, VillagerProfession> entry : professions.entrySet()) {
+            data[i++] = new ProfessionData(entry.getKey(), entry.getValue(), workstations);
+        }
+        Arrays.sort(data, ProfessionData.PROFESSION_COMPARATOR);
+        for (int index = 0; index < data.length; index++) {
+            data[index].assignIndex(index);
+        }
+
+        return new ProfessionCatalog(version,
+            List.copyOf(professions.keySet()),
+            List.copyOf(professions.values()),
+            data,
+            workstations);
+    }
+
+    /**
+     * Rebuild a catalog from entries sent by a server, keeping their order and therefore their indices.
+     * Professions or workstations unknown on this side are kept, just without a registry object.
+     */
+    public static ProfessionCatalog fromEntries(int version, List<CatalogEntry> entries) {
+        ProfessionData[] data = new ProfessionData[entries.size()];
+        List<Identifier> ids = new ArrayList<>(entries.size());
+        List<VillagerProfession> professions = new ArrayList<>(entries.size());
+        Map<Identifier, List<Block>> workstations = new HashMap<>(entries.size() * 2);
+        for (int index = 0; index < data.length; index++) {
+            CatalogEntry entry = entries.get(index);
+            VillagerProfession profession = Registries.VILLAGER_PROFESSION.getOrEmpty(entry.id()).orElse(null);
+            Block workstation = entry.workstation().flatMap(blockId -> Registries.BLOCK.getOrEmpty(blockId)).orElse(null);
+
+            data[index] = new ProfessionData(entry.id(), profession, workstation, entry.vanilla());
+            data[index].assignIndex(index);
+            ids.add(entry.id());
+            if (profession != null) {
+                professions.add(profession);
+            }
+            workstations.put(entry.id(), workstation != null ? List.of(workstation) : List.of());
+        }
+
+        return new ProfessionCatalog(version, List.copyOf(ids), List.copyOf(professions), data,
+            WorkstationIndex.of(workstations));
+    }
+
+    /**
+     * 64-bit FNV-1a hash over the profession ids in index order. Two sides that compute the
+     * same hash agree on every profession index.
+     */
+    private static long computeHash(ProfessionData[] data) {
+        long hash = 0xcbf29ce484222325L;
+        for (ProfessionData profession : data) {
+            String id = String.valueOf(profession.getId());
+            for (int i = 0; i < id.length(); i++) {
+                hash ^= id.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            // Separator so that ["ab", "c"] and ["a", "bc"] hash differently
+            hash ^= 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Check whether this catalog was built from exactly the given registry ids, in order
+     */
+    public boolean matches(Collection<Identifier> currentRegistryIds) {
+        if (registryIds.size() != currentRegistryIds.size()) {
+            return false;
+        }
+        Iterator<Identifier> ids = registryIds.iterator();
+        for (Identifier id : currentRegistryIds) {
+            if (!ids.next().equals(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Monotonic version number, bumped every time the registry contents change
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Profession identifiers in registry order
+     */
+    public List<Identifier> registryIds() {
+        return registryIds;
+    }
+
+    /**
+     * Professions in registry order
+     */
+    public List<VillagerProfession> registryProfessions() {
+        return registryProfessions;
+    }
+
+    /**
+     * All profession data, sorted with {@link ProfessionData#PROFESSION_COMPARATOR}
+     */
+    public List<ProfessionData> all() {
+        return sorted;
+    }
+
+    /**
+     * Vanilla profession data, in catalog order
+     */
+    public List<ProfessionData> vanilla() {
+        return vanilla;
+    }
+
+    /**
+     * Modded profession data, in catalog order
+     */
+    public List<ProfessionData> modded() {
+        return modded;
+    }
+
+    /**
+     * Look up profession data by identifier, or null if unknown
+     */
+    public ProfessionData get(Identifier id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Look up profession data by its catalog index, or null if out of range
+     */
+    public ProfessionData get(int index) {
+        return index >= 0 && index < byIndex.length ? byIndex[index] : null;
+    }
+
+    /**
+     * Look up the profession that works at the given block state, or null if it is not a workstation
+     */
+    public ProfessionData getByWorkstation(BlockState state) {
+        Identifier id = workstations.getProfession(state);
+        return id != null ? byId.get(id) : null;
+    }
+
+    /**
+     * Profession to workstation mapping built alongside this catalog
+     */
+    public WorkstationIndex workstations() {
+        return workstations;
+    }
+
+    /**
+     * Compact entries in catalog order, for sending the catalog to clients
+     */
+    public List<CatalogEntry> entries() {
+        return entries;
+    }
+
+    /**
+     * Hash identifying the index assignment of this catalog
+     */
+    public long hash() {
+        return hash;
+    }
+
+    public int size() {
+        return sorted.size();
+    }
+}
@@ -1,53 +1,84 @@
 package com.xeenaa.villagepicker.registry;
 
 import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.metrics.VillagePickerMetrics;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
 import net.minecraft.village.VillagerProfession;
 
-import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the profession catalog. Readers on any thread get a consistent, fully built
+ * {@link ProfessionCatalog}: snapshots are immutable and published through a single
+ * atomic reference, so no locking is needed.
+ */
 public class ProfessionManager {
-    private static ProfessionManager instance;
-    private final Map<Identifier, VillagerProfession> professions = new LinkedHashMap<>();
-    private final Set<Identifier> vanillaProfessions = new HashSet<>();
-    private boolean initialized = false;
+    private static final ProfessionManager INSTANCE = new ProfessionManager();
+    private final AtomicReference<ProfessionCatalog> catalog = new AtomicReference<>();
 
     private ProfessionManager() {
         // Private constructor for singleton
     }
 
     public static ProfessionManager getInstance() {
-        if (instance == null) {
-            instance = new ProfessionManager();
-        }
-        return instance;
+        return INSTANCE;
     }
 
     /**
      * Initialize the profession manager by collecting all available professions
      */
     public void initialize() {
-        if (initialized) {
+        if (catalog.get() != null) {
             XeenaaVillagePicker.LOGGER.warn("ProfessionManager already initialized");
             return;
         }
 
         XeenaaVillagePicker.LOGGER.info("Initializing ProfessionManager - collecting all professions");
-        collectProfessions();
-        identifyVanillaProfessions();
-        initialized = true;
+        ProfessionCatalog built = ProfessionCatalog.build(1, collectProfessions());
+        if (catalog.compareAndSet(null, built)) {
+            VillagePickerMetrics.catalogBuilt(built.version(), built.size());
+        } else {
+            XeenaaVillagePicker.LOGGER.debug("ProfessionManager was initialized concurrently, keeping existing catalog");
+        }
 
+        ProfessionStats stats = getStats();
         XeenaaVillagePicker.LOGGER.info("ProfessionManager initialized with {} total professions ({} vanilla, {} modded)",
-            professions.size(), vanillaProfessions.size(), professions.size() - vanillaProfessions.size());
+            stats.total(), stats.vanilla(), stats.modded());
+    }
+
+    /**
+     * Rebuild the catalog snapshot from the given professions and swap it in atomically,
+     * but only if they differ from the current one
+     */
+    ProfessionCatalog rebuildIfChanged(Map<Identifier, VillagerProfession> professions) {
+        while (true) {
+            ProfessionCatalog current = catalog.get();
+            if (current != null && current.matches(professions.keySet())) {
+                XeenaaVillagePicker.LOGGER.debug("Profession registry unchanged, keeping catalog version {}", current.version());
+                return current;
+            }
+
+            int version = current != null ? current.version() + 1 : 1;
+            ProfessionCatalog rebuilt = ProfessionCatalog.build(version, professions);
+            if (catalog.compareAndSet(current, rebuilt)) {
+                VillagePickerMetrics.catalogBuilt(version, rebuilt.size());
+                XeenaaVillagePicker.LOGGER.info("Built profession catalog version {} with {} professions",
+                    version, rebuilt.size());
+                return rebuilt;
+            }
+        }
     }
 
     /**
      * Collect all registered villager professions from the registry
      */
-    private void collectProfessions() {
-        professions.clear();
+    private Map<Identifier, VillagerProfession> collectProfessions() {
+        Map<Identifier, VillagerProfession> professions = new LinkedHashMap<>();
 
         for (VillagerProfession profession : Registries.VILLAGER_PROFESSION) {
             Identifier id = Registries.VILLAGER_PROFESSION.getId(profession);
@@ -57,74 +88,57 @@ public class ProfessionManager {
             }
         }
 
-        XeenaaVillagePicker.LOGGER.info("Collected {} professions from registry", professions.size());
+        return professions;
     }
 
     /**
-     * Identify vanilla professions vs modded professions
+     * Get the current immutable profession catalog snapshot
      */
-    private void identifyVanillaProfessions() {
-        vanillaProfessions.clear();
-
-        for (Identifier id : professions.keySet()) {
-            if ("minecraft".equals(id.getNamespace())) {
-                vanillaProfessions.add(id);
-            }
+    public ProfessionCatalog getCatalog() {
+        ProfessionCatalog current = catalog.get();
+        if (current == null) {
+            initialize();
+            current = catalog.get();
         }
-
-        XeenaaVillagePicker.LOGGER.info("Identified {} vanilla professions", vanillaProfessions.size());
+        return current;
     }
 
     /**
      * Get all available professions as an ordered collection
      */
     public Collection<VillagerProfession> getAllProfessions() {
-        if (!initialized) {
-            initialize();
-        }
-        return Collections.unmodifiableCollection(professions.values());
+        return getCatalog().registryProfessions();
     }
 
     /**
      * Get all profession IDs as an ordered collection
      */
     public Collection<Identifier> getAllProfessionIds() {
-        if (!initialized) {
-            initialize();
-        }
-        return Collections.unmodifiableCollection(professions.keySet());
+        return getCatalog().registryIds();
     }
 
     /**
      * Get a profession by its identifier
      */
     public VillagerProfession getProfession(Identifier id) {
-        if (!initialized) {
-            initialize();
-        }
-        return professions.get(id);
+        ProfessionData data = getCatalog().get(id);
+        return data != null ? data.getProfession() : null;
     }
 
     /**
      * Check if a profession is vanilla (Minecraft namespace)
      */
     public boolean isVanillaProfession(Identifier id) {
-        if (!initialized) {
-            initialize();
-        }
-        return vanillaProfessions.contains(id);
+        ProfessionData data = getCatalog().get(id);
+        return data != null && data.isVanilla();
     }
 
     /**
      * Get only vanilla professions
      */
     public Collection<VillagerProfession> getVanillaProfessions() {
-        if (!initialized) {
-            initialize();
-        }
-        return vanillaProfessions.stream()
-            .map(professions::get)
-            .filter(Objects::nonNull)
+        return getCatalog().vanilla().stream()
+            .map(ProfessionData::getProfession)
             .toList();
     }
 
@@ -132,12 +146,8 @@ public class ProfessionManager {
      * Get only modded professions
      */
     public Collection<VillagerProfession> getModdedProfessions() {
-        if (!initialized) {
-            initialize();
-        }
-        return professions.entrySet().stream()
-            .filter(entry -> !vanillaProfessions.contains(entry.getKey()))
-            .map(Map.Entry::getValue)
+        return getCatalog().modded().stream()
+            .map(ProfessionData::getProfession)
             .toList();
     }
 
@@ -145,73 +155,58 @@ public class ProfessionManager {
      * Get profession count information
      */
     public ProfessionStats getStats() {
-        if (!initialized) {
-            initialize();
-        }
-        return new ProfessionStats(professions.size(), vanillaProfessions.size(),
-            professions.size() - vanillaProfessions.size());
+        ProfessionCatalog current = getCatalog();
+        return new ProfessionStats(current.size(), current.vanilla().size(), current.modded().size());
     }
 
     /**
-     * Get all professions as ProfessionData objects, sorted appropriately
+     * Get all professions as ProfessionData objects, sorted appropriately.
+     * The returned list is the cached immutable catalog view.
      */
     public List<ProfessionData> getAllProfessionData() {
-        if (!initialized) {
-            initialize();
-        }
-        return professions.values().stream()
-            .map(ProfessionData::new)
-            .sorted(ProfessionData.PROFESSION_COMPARATOR)
-            .collect(Collectors.toList());
+        return getCatalog().all();
     }
 
     /**
      * Get vanilla profession data only
      */
     public List<ProfessionData> getVanillaProfessionData() {
-        return getAllProfessionData().stream()
-            .filter(ProfessionData::isVanilla)
-            .collect(Collectors.toList());
+        return getCatalog().vanilla();
     }
 
     /**
      * Get modded profession data only
      */
     public List<ProfessionData> getModdedProfessionData() {
-        return getAllProfessionData().stream()
-            .filter(data -> !data.isVanilla())
-            .collect(Collectors.toList());
+        return getCatalog().modded();
     }
 
     /**
-     * Log detailed information about all detected professions for testing
+     * Log every detected profession at debug level; does nothing unless debug logging is enabled
      */
     public void logAllProfessions() {
-        if (!initialized) {
-            initialize();
+        if (!XeenaaVillagePicker.LOGGER.isDebugEnabled()) {
+            return;
         }
 
-        XeenaaVillagePicker.LOGGER.info("=== PROFESSION REGISTRY DETAILS ===");
-
-        List<ProfessionData> allData = getAllProfessionData();
-        for (ProfessionData data : allData) {
+        for (ProfessionData data : getAllProfessionData()) {
             String type = data.isVanilla() ? "VANILLA" : "MODDED ";
             String workstation = data.getWorkstation() != null ? data.getWorkstation().toString() : "none";
 
-            XeenaaVillagePicker.LOGGER.info("[{}] {} ({}) - Workstation: {} - Display: '{}'",
-                type, data.getId(), data.getName(), workstation, data.getTranslatedName().getString());
+            XeenaaVillagePicker.LOGGER.debug("[{}] {} ({}) - Workstation: {}",
+                type, data.getId(), data.getName(), workstation);
         }
-
-        XeenaaVillagePicker.LOGGER.info("=== END PROFESSION REGISTRY ===");
     }
 
     /**
-     * Force refresh the profession registry (for use when mods are loaded dynamically)
+     * Rebuild the catalog if the profession registry changed; called on server start and data pack reload
+     *
+     * @return true if a new catalog was swapped in
      */
-    public void refresh() {
-        XeenaaVillagePicker.LOGGER.info("Refreshing ProfessionManager");
-        initialized = false;
-        initialize();
+    public boolean refresh() {
+        XeenaaVillagePicker.LOGGER.debug("Refreshing ProfessionManager");
+        ProfessionCatalog previous = catalog.get();
+        return rebuildIfChanged(collectProfessions()) != previous;
     }
 
     public record ProfessionStats(int total, int vanilla, int modded) {}
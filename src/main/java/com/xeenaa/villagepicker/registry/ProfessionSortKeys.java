@@ -0,0 +1,87 @@
+package com.xeenaa.villagepicker.registry;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Locale-aware display order of a catalog: vanilla professions first, then by display name
+ * as collated for one language.
+ * <p>
+ * Each name is resolved and turned into a {@link CollationKey} once, indexed by catalog index,
+ * so sorting compares precomputed keys instead of resolving text in every comparison.
+ * Build one per catalog and language and rebuild it when either changes.
+ */
+public final class ProfessionSortKeys {
+    private final ProfessionCatalog catalog;
+    private final Locale locale;
+    private final CollationKey[] keys;
+    private final Comparator<ProfessionData> comparator;
+    private final List<ProfessionData> sorted;
+
+    private ProfessionSortKeys(ProfessionCatalog catalog, Locale locale, Function<ProfessionData, String> displayName) {
+        this.catalog = catalog;
+        this.locale = locale;
+
+        // Case differences alone do not reorder names, accents do
+        Collator collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.SECONDARY);
+
+        List<ProfessionData> all = catalog.all();
+        this.keys = new CollationKey[all.size()];
+        for (ProfessionData data : all) {
+            keys[data.getIndex()] = collator.getCollationKey(displayName.apply(data));
+        }
+
+        this.comparator = Comparator.comparing((ProfessionData p) -> !p.isVanilla())
+            .thenComparing(p -> keys[p.getIndex()]);
+
+        // Stable sort, so names that collate equally keep their catalog order
+        ProfessionData[] order = all.toArray(ProfessionData[]::new);
+        Arrays.sort(order, comparator);
+        this.sorted = List.of(order);
+    }
+
+    /**
+     * Resolve every display name of the catalog once and compute its collation key
+     *
+     * @param displayName the name shown for a profession in the given locale
+     */
+    public static ProfessionSortKeys build(ProfessionCatalog catalog, Locale locale,
+                                           Function<ProfessionData, String> displayName) {
+        return new ProfessionSortKeys(catalog, locale, displayName);
+    }
+
+    /**
+     * Convert a Minecraft language code such as {@code en_us} or {@code pt_br} into a {@link Locale}
+     */
+    public static Locale toLocale(String languageCode) {
+        return Locale.forLanguageTag(languageCode.replace('_', '-'));
+    }
+
+    public ProfessionCatalog getCatalog() {
+        return catalog;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * All professions of the catalog in display order
+     */
+    public List<ProfessionData> sorted() {
+        return sorted;
+    }
+
+    /**
+     * Display order comparator; only valid for profession data of this catalog
+     */
+    public Comparator<ProfessionData> comparator() {
+        return comparator;
+    }
+}
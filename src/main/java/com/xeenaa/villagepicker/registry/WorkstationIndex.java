@@ -0,0 +1,99 @@
+package com.xeenaa.villagepicker.registry;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.poi.PointOfInterestType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Two-way mapping between professions and their workstation blocks, derived from each profession's
+ * {@code heldWorkstation} predicate tested against every registered {@link PointOfInterestType}.
+ * Only the held predicate is used: {@code acquirableWorkstation} of professions such as {@code none}
+ * accepts every job site and would claim all workstations. Professions that hold no workstation map
+ * to none.
+ * <p>
+ * Built once per catalog, so modded professions get their real workstation and lookups are plain map reads.
+ */
+public final class WorkstationIndex {
+    private final Map<Identifier, List<Block>> blocksByProfession;
+    private final Map<BlockState, Identifier> professionByState;
+
+    private WorkstationIndex(Map<Identifier, List<Block>> blocksByProfession, Map<BlockState, Identifier> professionByState) {
+        this.blocksByProfession = blocksByProfession;
+        this.professionByState = professionByState;
+    }
+
+    /**
+     * Build the index for the given professions against the current point of interest registry
+     */
+    public static WorkstationIndex build(Map<Identifier, VillagerProfession> professions) {
+        List<RegistryEntry<PointOfInterestType>> poiTypes = new ArrayList<>();
+        for (PointOfInterestType poiType : Registries.POINT_OF_INTEREST_TYPE) {
+            poiTypes.add(Registries.POINT_OF_INTEREST_TYPE.getEntry(poiType));
+        }
+
+        Map<Identifier, List<Block>> blocksByProfession = new HashMap<>(professions.size() * 2);
+        Map<BlockState, Identifier> professionByState = new IdentityHashMap<>();
+        for (Map.Entry<Identifier, VillagerProfession> entry : professions.entrySet()) {
+            Set<Block> blocks = new LinkedHashSet<>();
+            for (RegistryEntry<PointOfInterestType> poiType : poiTypes) {
+                if (!isWorkstation(entry.getValue(), poiType)) {
+                    continue;
+                }
+                for (BlockState state : poiType.value().blockStates()) {
+                    blocks.add(state.getBlock());
+                    // First profession in registry order wins if two claim the same state
+                    professionByState.putIfAbsent(state, entry.getKey());
+                }
+            }
+            blocksByProfession.put(entry.getKey(), List.copyOf(blocks));
+        }
+
+        return new WorkstationIndex(Map.copyOf(blocksByProfession), professionByState);
+    }
+
+    /**
+     * Create an index from known profession workstations, without block state lookups.
+     * Used for catalogs received from a server.
+     */
+    public static WorkstationIndex of(Map<Identifier, List<Block>> blocksByProfession) {
+        return new WorkstationIndex(Map.copyOf(blocksByProfession), Map.of());
+    }
+
+    private static boolean isWorkstation(VillagerProfession profession, RegistryEntry<PointOfInterestType> poiType) {
+        return profession.heldWorkstation().test(poiType);
+    }
+
+    /**
+     * Get all workstation blocks of a profession, primary first; empty for professions without one
+     */
+    public List<Block> getWorkstations(Identifier professionId) {
+        return blocksByProfession.getOrDefault(professionId, List.of());
+    }
+
+    /**
+     * Get the primary workstation block of a profession, or null if it has none
+     */
+    public Block getPrimaryWorkstation(Identifier professionId) {
+        List<Block> blocks = getWorkstations(professionId);
+        return blocks.isEmpty() ? null : blocks.get(0);
+    }
+
+    /**
+     * Get the profession that works at the given block state, or null if it is not a workstation
+     */
+    public Identifier getProfession(BlockState state) {
+        return professionByState.get(state);
+    }
+}
@@ -0,0 +1,293 @@
+package com.xeenaa.villagepicker.rules;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import com.xeenaa.villagepicker.network.AllowedProfessionsPacket;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.registry.ProfessionManager;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.scoreboard.AbstractTeam;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Server allow/deny rules for professions, read from a JSON file in the config directory.
+ * <p>
+ * Rules are compiled into a {@link RuleSet} of bit sets over the catalog's profession indices and
+ * published through an {@link AtomicReference}. A watcher thread recompiles the file when it changes.
+ * Each online player's applicable scopes are then combined into a single bit set, which is also sent
+ * to their client; a check is one {@link BitSet#get} on it. Players are resolved again when the rules,
+ * the catalog, their world or their team change. Everything except {@link #reload} runs on the server thread.
+ */
+public final class ProfessionRules {
+    private static final ProfessionRules INSTANCE = new ProfessionRules();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    // Editors often write a file in several steps; wait for them to finish before reading it
+    private static final long RELOAD_DELAY_MILLIS = 250;
+    // Team changes have no event, so players' teams are compared once per second
+    private static final int TEAM_CHECK_INTERVAL_TICKS = 20;
+
+    private final Path file = VillagePickerConfig.resolveSibling(VillagePickerConfig.get().rules.file);
+    private final AtomicReference<RuleSet> rules = new AtomicReference<>();
+    private final Map<UUID, PlayerRules> players = new HashMap<>();
+    private int ticks = 0;
+    private volatile MinecraftServer server;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    private ProfessionRules() {
+    }
+
+    public static ProfessionRules getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Rules resolved for one player, with the inputs they were resolved from
+     */
+    private record PlayerRules(RuleSet rules, RegistryKey<World> world, String team, BitSet allowed) {}
+
+    /**
+     * File layout, as read by Gson
+     */
+    private static class RulesFile {
+        List<RuleDefinition> rules = new ArrayList<>();
+    }
+
+    /**
+     * Resolve players' rules when they join, change dimension or change team
+     */
+    public void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> update(handler.player));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> players.remove(handler.player.getUuid()));
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) ->
+            update(player));
+        ServerTickEvents.END_SERVER_TICK.register(this::tick);
+    }
+
+    /**
+     * Periodically pick up team changes and catalog rebuilds
+     */
+    private void tick(MinecraftServer server) {
+        if (++ticks % TEAM_CHECK_INTERVAL_TICKS != 0) {
+            return;
+        }
+        RuleSet current = getRules();
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            PlayerRules resolved = players.get(player.getUuid());
+            if (resolved == null || resolved.rules() != current || resolved.world() != player.getWorld().getRegistryKey()
+                    || !Objects.equals(resolved.team(), teamName(player))) {
+                update(player);
+            }
+        }
+    }
+
+    /**
+     * Load the rules and start watching the file
+     */
+    public synchronized void start(MinecraftServer server) {
+        this.server = server;
+        reload();
+
+        if (!VillagePickerConfig.get().rules.watch || watcherThread != null) {
+            return;
+        }
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            XeenaaVillagePicker.LOGGER.error("Failed to watch {}, rules only load at startup", file, e);
+            return;
+        }
+
+        WatchService watcher = watchService;
+        watcherThread = new Thread(() -> watch(watcher), "VillagePicker Rules Watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stop watching the file
+     */
+    public synchronized void stop() {
+        server = null;
+        players.clear();
+        if (watcherThread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+            watcherThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (IOException e) {
+            XeenaaVillagePicker.LOGGER.warn("Failed to close rules watcher", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        watchService = null;
+        watcherThread = null;
+    }
+
+    private void watch(WatchService watcher) {
+        Path fileName = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= fileName.equals(event.context());
+                }
+                key.reset();
+
+                if (changed) {
+                    // Collapse the burst of events of one save into a single reload
+                    Thread.sleep(RELOAD_DELAY_MILLIS);
+                    WatchKey pending;
+                    while ((pending = watcher.poll()) != null) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Read and compile the rules file, publish the result and send online players their allowed professions.
+     * A file that fails to parse keeps the previous rules.
+     */
+    public void reload() {
+        List<RuleDefinition> definitions = read();
+        if (definitions == null) {
+            return;
+        }
+
+        rules.set(RuleSet.compile(ProfessionManager.getInstance().getCatalog(), definitions));
+        XeenaaVillagePicker.LOGGER.info("Loaded {} profession rules from {}", definitions.size(), file);
+
+        MinecraftServer current = server;
+        if (current != null) {
+            current.execute(() -> current.getPlayerManager().getPlayerList().forEach(this::update));
+        }
+    }
+
+    private List<RuleDefinition> read() {
+        if (!Files.exists(file)) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (Writer writer = Files.newBufferedWriter(file)) {
+                    GSON.toJson(new RulesFile(), writer);
+                }
+            } catch (IOException e) {
+                XeenaaVillagePicker.LOGGER.error("Failed to write profession rules {}", file, e);
+            }
+            return List.of();
+        }
+
+        try (Reader reader = Files.newBufferedReader(file)) {
+            RulesFile loaded = GSON.fromJson(reader, RulesFile.class);
+            if (loaded == null || loaded.rules == null) {
+                return List.of();
+            }
+            List<RuleDefinition> definitions = new ArrayList<>(loaded.rules);
+            definitions.removeIf(definition -> definition == null);
+            return definitions;
+        } catch (IOException | JsonParseException e) {
+            XeenaaVillagePicker.LOGGER.error("Failed to read profession rules {}, keeping previous rules", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the rules compiled against the current catalog, recompiling them if the catalog changed
+     */
+    private RuleSet getRules() {
+        ProfessionCatalog catalog = ProfessionManager.getInstance().getCatalog();
+        RuleSet current = rules.get();
+        if (current == null || current.getCatalog() != catalog) {
+            RuleSet recompiled = RuleSet.compile(catalog, current != null ? current.getDefinitions() : List.of());
+            // A reload may have published newer rules meanwhile; then those win
+            return rules.compareAndSet(current, recompiled) ? recompiled : getRules();
+        }
+        return current;
+    }
+
+    /**
+     * Check whether the player may pick the profession in their current world
+     */
+    public boolean isAllowed(ServerPlayerEntity player, ProfessionData profession) {
+        PlayerRules resolved = players.get(player.getUuid());
+        if (resolved == null || resolved.rules() != rules.get() || resolved.world() != player.getWorld().getRegistryKey()) {
+            resolved = update(player);
+        }
+
+        int index = profession.getIndex();
+        ProfessionCatalog catalog = resolved.rules().getCatalog();
+        if (catalog.get(index) != profession) {
+            // Data from an older catalog, look it up by id in the one the rules refer to
+            ProfessionData data = catalog.get(profession.getId());
+            if (data == null) {
+                return false;
+            }
+            index = data.getIndex();
+        }
+        return resolved.allowed().get(index);
+    }
+
+    /**
+     * Resolve the player's rules and send the result to their client if it changed
+     */
+    private PlayerRules update(ServerPlayerEntity player) {
+        RuleSet current = getRules();
+        RegistryKey<World> world = player.getWorld().getRegistryKey();
+        String team = teamName(player);
+        PlayerRules resolved = new PlayerRules(current, world, team, current.resolve(player, world.getValue(), team));
+        PlayerRules previous = players.put(player.getUuid(), resolved);
+
+        boolean changed = previous == null || previous.rules().getCatalog() != current.getCatalog()
+            || !previous.allowed().equals(resolved.allowed());
+        if (changed && ServerPlayNetworking.canSend(player, AllowedProfessionsPacket.PACKET_ID)) {
+            ServerPlayNetworking.send(player, new AllowedProfessionsPacket(current.getCatalog().hash(), resolved.allowed()));
+        }
+        return resolved;
+    }
+
+    private static String teamName(ServerPlayerEntity player) {
+        AbstractTeam team = player.getScoreboardTeam();
+        return team != null ? team.getName() : null;
+    }
+}
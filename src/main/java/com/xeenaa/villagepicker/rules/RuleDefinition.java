@@ -0,0 +1,17 @@
+package com.xeenaa.villagepicker.rules;
+
+import java.util.List;
+
+/**
+ * One entry of the rules file, as read by Gson.
+ * <p>
+ * {@code scope} is {@code *}, {@code world:<dimension id>}, {@code team:<team name>} or
+ * {@code player:<name or uuid>}. {@code allow} and {@code deny} hold profession patterns: an id,
+ * {@code <namespace>:*}, {@code #vanilla}, {@code #modded} or {@code *}. If {@code allow} is given,
+ * only those professions stay allowed; {@code deny} then removes professions.
+ */
+public class RuleDefinition {
+    public String scope = "*";
+    public List<String> allow = List.of();
+    public List<String> deny = List.of();
+}
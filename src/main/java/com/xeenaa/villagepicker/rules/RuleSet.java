@@ -0,0 +1,159 @@
+package com.xeenaa.villagepicker.rules;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.registry.ProfessionCatalog;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rules compiled against one catalog: a {@link BitSet} of allowed profession indices per scope.
+ * A profession is allowed if every scope that applies to the player allows it; {@link #resolve}
+ * combines those scopes into one bit set per player. Immutable once compiled.
+ */
+public final class RuleSet {
+    private final ProfessionCatalog catalog;
+    private final List<RuleDefinition> definitions;
+    private final BitSet global;
+    private final Map<Identifier, BitSet> worlds;
+    private final Map<String, BitSet> teams;
+    private final Map<String, BitSet> players;
+
+    private RuleSet(ProfessionCatalog catalog, List<RuleDefinition> definitions, BitSet global,
+                    Map<Identifier, BitSet> worlds, Map<String, BitSet> teams, Map<String, BitSet> players) {
+        this.catalog = catalog;
+        this.definitions = definitions;
+        this.global = global;
+        this.worlds = Map.copyOf(worlds);
+        this.teams = Map.copyOf(teams);
+        this.players = Map.copyOf(players);
+    }
+
+    /**
+     * Compile rule definitions over the catalog's profession indices. Invalid scopes are skipped,
+     * unknown profession ids match nothing.
+     */
+    public static RuleSet compile(ProfessionCatalog catalog, List<RuleDefinition> definitions) {
+        int size = catalog.size();
+        BitSet global = null;
+        Map<Identifier, BitSet> worlds = new HashMap<>();
+        Map<String, BitSet> teams = new HashMap<>();
+        Map<String, BitSet> players = new HashMap<>();
+
+        for (RuleDefinition definition : definitions) {
+            String scope = definition.scope != null ? definition.scope.trim() : "*";
+            BitSet bits;
+            if (scope.equals("*")) {
+                if (global == null) {
+                    global = allSet(size);
+                }
+                bits = global;
+            } else if (scope.startsWith("world:")) {
+                Identifier world = Identifier.tryParse(scope.substring("world:".length()));
+                if (world == null) {
+                    XeenaaVillagePicker.LOGGER.warn("Skipping profession rule with invalid world scope '{}'", scope);
+                    continue;
+                }
+                bits = worlds.computeIfAbsent(world, key -> allSet(size));
+            } else if (scope.startsWith("team:")) {
+                bits = teams.computeIfAbsent(scope.substring("team:".length()), key -> allSet(size));
+            } else if (scope.startsWith("player:")) {
+                // Names are matched case-insensitively; UUIDs are lower case already
+                bits = players.computeIfAbsent(scope.substring("player:".length()).toLowerCase(Locale.ROOT),
+                    key -> allSet(size));
+            } else {
+                XeenaaVillagePicker.LOGGER.warn("Skipping profession rule with unknown scope '{}'", scope);
+                continue;
+            }
+
+            if (definition.allow != null && !definition.allow.isEmpty()) {
+                bits.and(match(catalog, definition.allow));
+            }
+            if (definition.deny != null && !definition.deny.isEmpty()) {
+                bits.andNot(match(catalog, definition.deny));
+            }
+        }
+
+        return new RuleSet(catalog, List.copyOf(definitions), global, worlds, teams, players);
+    }
+
+    private static BitSet allSet(int size) {
+        BitSet bits = new BitSet(size);
+        bits.set(0, size);
+        return bits;
+    }
+
+    /**
+     * Indices of all professions matched by any of the patterns
+     */
+    private static BitSet match(ProfessionCatalog catalog, List<String> patterns) {
+        BitSet bits = new BitSet(catalog.size());
+        for (String pattern : patterns) {
+            if (pattern.equals("*")) {
+                bits.set(0, catalog.size());
+            } else if (pattern.equals("#vanilla") || pattern.equals("#modded")) {
+                for (ProfessionData data : pattern.equals("#vanilla") ? catalog.vanilla() : catalog.modded()) {
+                    bits.set(data.getIndex());
+                }
+            } else if (pattern.endsWith(":*")) {
+                String namespace = pattern.substring(0, pattern.length() - 2);
+                for (ProfessionData data : catalog.all()) {
+                    if (data.getModName().equals(namespace)) {
+                        bits.set(data.getIndex());
+                    }
+                }
+            } else {
+                Identifier id = Identifier.tryParse(pattern);
+                ProfessionData data = id != null ? catalog.get(id) : null;
+                if (data != null) {
+                    bits.set(data.getIndex());
+                } else {
+                    XeenaaVillagePicker.LOGGER.debug("Profession rule pattern '{}' matches no profession", pattern);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Catalog whose indices the bit sets refer to
+     */
+    public ProfessionCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * The definitions this set was compiled from, for recompiling against a new catalog
+     */
+    public List<RuleDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * Combine every scope that applies to a player into the professions they may pick.
+     * Done once per player when the rules, their world or their team change, so checks are one bit test.
+     *
+     * @param team the player's scoreboard team name, or null
+     */
+    public BitSet resolve(ServerPlayerEntity player, Identifier world, String team) {
+        BitSet allowed = allSet(catalog.size());
+        and(allowed, global);
+        and(allowed, worlds.get(world));
+        and(allowed, team != null ? teams.get(team) : null);
+        and(allowed, players.get(player.getUuidAsString()));
+        and(allowed, players.get(player.getGameProfile().getName().toLowerCase(Locale.ROOT)));
+        return allowed;
+    }
+
+    private static void and(BitSet target, BitSet bits) {
+        if (bits != null) {
+            target.and(bits);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.xeenaa.villagepicker.server;
+
+/**
+ * Outcome of a profession change request, used for metrics and diagnostics
+ */
+public enum ChangeResult {
+    APPLIED,
+    RATE_LIMITED,
+    UNKNOWN_PROFESSION,
+    DUPLICATE,
+    SUPERSEDED,
+    INVALID_REQUEST,
+    VILLAGER_NOT_FOUND,
+    VILLAGER_REMOVED,
+    BABY_VILLAGER,
+    TOO_FAR,
+    NO_PERMISSION,
+    PROFESSION_NOT_ALLOWED,
+    PLAYER_OFFLINE,
+    ERROR;
+
+    public boolean isSuccess() {
+        return this == APPLIED;
+    }
+
+    /**
+     * Not applied, but nothing went wrong: the same or a newer change for the villager is queued
+     */
+    public boolean isInformational() {
+        return this == DUPLICATE || this == SUPERSEDED;
+    }
+}
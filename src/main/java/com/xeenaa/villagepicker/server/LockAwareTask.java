@@ -0,0 +1,52 @@
+package com.xeenaa.villagepicker.server;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.ai.brain.task.MultiTickTask;
+import net.minecraft.entity.ai.brain.task.Task;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.function.Predicate;
+
+/**
+ * Brain task wrapper that never starts for villagers with a {@link ProfessionLock}, or only for
+ * the locked villagers matching a narrower check. Other villagers run the wrapped task unchanged.
+ * A task that is already running when the villager gets locked is allowed to finish.
+ */
+public class LockAwareTask<E extends LivingEntity> implements Task<E> {
+    private final Task<E> delegate;
+    private final Predicate<LivingEntity> skip;
+
+    public LockAwareTask(Task<E> delegate) {
+        this(delegate, ProfessionLock::isLocked);
+    }
+
+    public LockAwareTask(Task<E> delegate, Predicate<LivingEntity> skip) {
+        this.delegate = delegate;
+        this.skip = skip;
+    }
+
+    @Override
+    public MultiTickTask.Status getStatus() {
+        return delegate.getStatus();
+    }
+
+    @Override
+    public boolean tryStarting(ServerWorld world, E entity, long time) {
+        return !skip.test(entity) && delegate.tryStarting(world, entity, time);
+    }
+
+    @Override
+    public void tick(ServerWorld world, E entity, long time) {
+        delegate.tick(world, entity, time);
+    }
+
+    @Override
+    public void stop(ServerWorld world, E entity, long time) {
+        delegate.stop(world, entity, time);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+}
@@ -0,0 +1,196 @@
+package com.xeenaa.villagepicker.server;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import com.xeenaa.villagepicker.metrics.VillagePickerMetrics;
+import com.xeenaa.villagepicker.network.ServerPacketHandler;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Server-side work queue for profession changes.
+ * <p>
+ * Requests can be enqueued from any thread. They are drained at the end of each server tick
+ * within the count and time budget from {@link VillagePickerConfig.Scheduler}, so a burst of
+ * requests is spread over several ticks instead of spiking a single one. Requests are keyed by
+ * villager: if a villager receives several requests before it is processed, only the latest is applied
+ * and the players whose requests were replaced are told so.
+ */
+public final class ProfessionChangeScheduler {
+    private static final ProfessionChangeScheduler INSTANCE = new ProfessionChangeScheduler();
+
+    private final Map<Integer, PendingChange> pending = new ConcurrentHashMap<>();
+    private final Queue<Integer> order = new ConcurrentLinkedQueue<>();
+
+    private volatile long lastTickNanos = 0;
+    private volatile int lastTickApplied = 0;
+    private volatile long averageTickNanos = 0;
+
+    private ProfessionChangeScheduler() {
+    }
+
+    public static ProfessionChangeScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * A queued profession change for one villager; the player is null for operator assignments.
+     * {@code arrivalNanos} is when the request arrived, or 0 if it was not timed.
+     */
+    public record PendingChange(ServerPlayerEntity player, int requestId, ServerWorld world, int villagerEntityId,
+                                ProfessionData profession, long arrivalNanos) {}
+
+    /**
+     * Queue a profession change requested by a player, replacing any change still pending for the same villager.
+     * The player is told the outcome, tagged with the client's request id.
+     *
+     * @param arrivalNanos when the packet arrived on the network thread, see
+     *                     {@link com.xeenaa.villagepicker.network.PacketPrevalidator#takeArrivalNanos}
+     */
+    public void enqueue(ServerPlayerEntity player, int requestId, int villagerEntityId, ProfessionData profession,
+                        long arrivalNanos) {
+        enqueue(new PendingChange(player, requestId, player.getServerWorld(), villagerEntityId, profession,
+            arrivalNanos));
+    }
+
+    /**
+     * Queue an operator assignment, which skips the player checks
+     */
+    public void enqueueAssignment(ServerWorld world, int villagerEntityId, ProfessionData profession) {
+        enqueue(new PendingChange(null, 0, world, villagerEntityId, profession, VillagePickerMetrics.startTimer()));
+    }
+
+    private void enqueue(PendingChange change) {
+        int villagerEntityId = change.villagerEntityId();
+        // Only the first pending request for a villager takes a slot in the queue; later ones overwrite it
+        PendingChange replaced = pending.put(villagerEntityId, change);
+        if (replaced == null) {
+            order.add(villagerEntityId);
+        } else {
+            VillagePickerMetrics.result(ChangeResult.SUPERSEDED);
+            if (replaced.player() != null && !replaced.player().isDisconnected()) {
+                ServerPacketHandler.sendResult(replaced.player(), replaced.requestId(), villagerEntityId,
+                    ChangeResult.SUPERSEDED);
+            }
+        }
+    }
+
+    /**
+     * Check whether exactly this change is already waiting to be applied
+     */
+    public boolean isPending(int villagerEntityId, ProfessionData profession) {
+        PendingChange change = pending.get(villagerEntityId);
+        return change != null && change.profession().equals(profession);
+    }
+
+    /**
+     * Apply queued changes until the per-tick budget is used up. Called at the end of every server tick.
+     */
+    public void tick(MinecraftServer server) {
+        if (order.isEmpty()) {
+            lastTickNanos = 0;
+            lastTickApplied = 0;
+            return;
+        }
+
+        VillagePickerConfig.Scheduler budget = VillagePickerConfig.get().scheduler;
+        int maxChanges = Math.max(1, budget.maxChangesPerTick);
+        long maxNanos = (long) (budget.maxMillisPerTick * 1_000_000L);
+
+        long start = System.nanoTime();
+        int applied = 0;
+        Integer villagerEntityId;
+        while (applied < maxChanges && (villagerEntityId = order.poll()) != null) {
+            PendingChange change = pending.remove(villagerEntityId);
+            if (change == null) {
+                continue;
+            }
+
+            apply(change);
+            applied++;
+
+            // Always make progress, but stop once the time budget is spent
+            if (System.nanoTime() - start >= maxNanos) {
+                break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastTickNanos = elapsed;
+        lastTickApplied = applied;
+        averageTickNanos = averageTickNanos == 0 ? elapsed : (averageTickNanos * 7 + elapsed) / 8;
+    }
+
+    private void apply(PendingChange change) {
+        ServerPlayerEntity player = change.player();
+        if (player != null && player.isDisconnected()) {
+            VillagePickerMetrics.result(ChangeResult.PLAYER_OFFLINE);
+            return;
+        }
+
+        ChangeResult result;
+        try {
+            // Use the player's current world; they may have changed dimension since the request
+            ServerWorld world = player != null ? player.getServerWorld() : change.world();
+            result = VillagerProfessionHelper.tryChangeProfession(player, world,
+                change.villagerEntityId(), change.profession());
+            if (result.isSuccess()) {
+                XeenaaVillagePicker.LOGGER.debug("Successfully changed villager {} profession to {}",
+                    change.villagerEntityId(), change.profession().getId());
+            }
+        } catch (Exception e) {
+            XeenaaVillagePicker.LOGGER.error("Error applying profession change for villager {}",
+                change.villagerEntityId(), e);
+            result = ChangeResult.ERROR;
+        }
+
+        VillagePickerMetrics.result(result);
+        VillagePickerMetrics.recordSince(VillagePickerMetrics.ARRIVAL_TO_APPLY, change.arrivalNanos());
+        if (player != null) {
+            ServerPacketHandler.sendResult(player, change.requestId(), change.villagerEntityId(), result);
+        }
+    }
+
+    /**
+     * Drop all pending changes, e.g. when the server stops
+     */
+    public void clear() {
+        pending.clear();
+        order.clear();
+    }
+
+    /**
+     * Number of villagers with a pending profession change
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * Time spent applying changes in the last server tick, in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Number of changes applied in the last server tick
+     */
+    public int getLastTickApplied() {
+        return lastTickApplied;
+    }
+
+    /**
+     * Moving average of the time spent per tick while the queue was non-empty, in nanoseconds
+     */
+    public long getAverageTickNanos() {
+        return averageTickNanos;
+    }
+}
@@ -0,0 +1,115 @@
+package com.xeenaa.villagepicker.server;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.ai.brain.MemoryModuleType;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.poi.PointOfInterestStorage;
+import net.minecraft.world.poi.PointOfInterestType;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Persistent marker for villagers whose profession was picked by a player.
+ * <p>
+ * The locked profession id is stored as a data attachment, saved with the entity. While it matches
+ * the villager's current profession, the brain tasks that take the profession away (losing the job
+ * after losing the workstation, and workstation competition) are skipped, see {@link LockAwareTask}.
+ * Locked villagers still keep, validate and re-acquire workstations of their own profession, so they
+ * keep working and restocking trades.
+ */
+public final class ProfessionLock {
+    public static final AttachmentType<Identifier> LOCKED_PROFESSION = AttachmentRegistry.<Identifier>builder()
+        .persistent(Identifier.CODEC)
+        .buildAndRegister(Identifier.of(XeenaaVillagePicker.MOD_ID, "locked_profession"));
+
+    private ProfessionLock() {
+    }
+
+    /**
+     * Make sure the attachment type is registered; called once from the mod initializer
+     */
+    public static void register() {
+        XeenaaVillagePicker.LOGGER.debug("Registered attachment {}", LOCKED_PROFESSION.identifier());
+    }
+
+    /**
+     * Lock a villager to the given profession. A workstation it holds or was about to claim is kept
+     * if it belongs to that profession; otherwise its ticket is released so the villager can find
+     * one that does.
+     */
+    public static void lock(VillagerEntity villager, VillagerProfession profession) {
+        villager.setAttached(LOCKED_PROFESSION, Registries.VILLAGER_PROFESSION.getId(profession));
+        releaseJobSiteUnless(villager, MemoryModuleType.JOB_SITE, profession.heldWorkstation());
+        releaseJobSiteUnless(villager, MemoryModuleType.POTENTIAL_JOB_SITE, profession.acquirableWorkstation());
+    }
+
+    /**
+     * Release the point of interest ticket held through the given memory and forget it, unless the
+     * site's point of interest type is one the profession uses.
+     * {@code VillagerEntity.releaseTicketFor} is not used because it checks the site against the
+     * villager's current profession, which at this point is already the new one.
+     */
+    private static void releaseJobSiteUnless(VillagerEntity villager, MemoryModuleType<GlobalPos> memory,
+                                             Predicate<RegistryEntry<PointOfInterestType>> keep) {
+        Optional<GlobalPos> site = villager.getBrain().getOptionalRegisteredMemory(memory);
+        if (site.isEmpty()) {
+            return;
+        }
+        if (villager.getWorld() instanceof ServerWorld world) {
+            ServerWorld siteWorld = world.getServer().getWorld(site.get().dimension());
+            if (siteWorld != null) {
+                PointOfInterestStorage storage = siteWorld.getPointOfInterestStorage();
+                BlockPos pos = site.get().pos();
+                Optional<RegistryEntry<PointOfInterestType>> type = storage.getType(pos);
+                if (type.isPresent() && keep.test(type.get())) {
+                    return;
+                }
+                // Broken workstations have no point of interest left to release
+                if (type.isPresent()) {
+                    storage.releaseTicket(pos);
+                }
+            }
+        }
+        villager.getBrain().forget(memory);
+    }
+
+    /**
+     * Remove the lock, returning the villager to vanilla job site behavior
+     */
+    public static void unlock(VillagerEntity villager) {
+        villager.removeAttached(LOCKED_PROFESSION);
+    }
+
+    /**
+     * Check whether an entity is a villager locked to its current profession.
+     * A lock for a different profession (changed by something else since) does not count.
+     */
+    public static boolean isLocked(LivingEntity entity) {
+        if (!(entity instanceof VillagerEntity villager)) {
+            return false;
+        }
+        Identifier locked = villager.getAttached(LOCKED_PROFESSION);
+        return locked != null
+            && locked.equals(Registries.VILLAGER_PROFESSION.getId(villager.getVillagerData().getProfession()));
+    }
+
+    /**
+     * Check whether an entity is a villager locked to having no profession. Claiming any workstation
+     * would give such a villager the workstation's profession, so it must not acquire job sites at all.
+     */
+    public static boolean isLockedUnemployed(LivingEntity entity) {
+        return isLocked(entity)
+            && ((VillagerEntity) entity).getVillagerData().getProfession() == VillagerProfession.NONE;
+    }
+}
@@ -0,0 +1,164 @@
+package com.xeenaa.villagepicker.server;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.config.VillagePickerConfig;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player token bucket limiting how often profession selection packets are accepted.
+ * Batch packets additionally draw one villager token per villager from a second bucket, so the
+ * number of villagers a player can queue is limited regardless of how they are split into packets.
+ * Safe to call from any thread.
+ */
+public final class SelectionRateLimiter {
+    private static final SelectionRateLimiter INSTANCE = new SelectionRateLimiter();
+    private static final long VIOLATION_WINDOW_NANOS = 10_000_000_000L;
+
+    private final Map<UUID, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejectedPackets = new LongAdder();
+    private final LongAdder kickedPlayers = new LongAdder();
+
+    private SelectionRateLimiter() {
+    }
+
+    public static SelectionRateLimiter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Try to take tokens for a packet from the player's bucket.
+     * Players exceeding the violation threshold are disconnected.
+     *
+     * @param cost number of tokens the packet costs
+     * @return true if the packet may be processed
+     */
+    public boolean tryAcquire(ServerPlayerEntity player, int cost) {
+        return tryAcquire(player, cost, 0);
+    }
+
+    /**
+     * Try to take tokens for a batch packet: {@code cost} packet tokens and one villager token per villager.
+     * Nothing is taken unless both are available.
+     *
+     * @param cost number of packet tokens the packet costs
+     * @param villagers number of villagers the packet queues
+     * @return true if the packet may be processed
+     */
+    public boolean tryAcquire(ServerPlayerEntity player, int cost, int villagers) {
+        VillagePickerConfig.RateLimit config = VillagePickerConfig.get().rateLimit;
+        if (!config.enabled) {
+            return true;
+        }
+
+        TokenBucket bucket = buckets.computeIfAbsent(player.getUuid(), uuid -> new TokenBucket(config));
+        long now = System.nanoTime();
+        if (bucket.tryAcquire(cost, villagers, config, now)) {
+            return true;
+        }
+
+        rejectedPackets.increment();
+        int violations = bucket.recordViolation(now);
+        if (violations == 1) {
+            XeenaaVillagePicker.LOGGER.warn("Player {} is sending profession selections too fast",
+                player.getName().getString());
+        }
+
+        if (config.kickAfterViolations > 0 && violations >= config.kickAfterViolations) {
+            kick(player);
+        }
+        return false;
+    }
+
+    private void kick(ServerPlayerEntity player) {
+        // Only kick once per bucket, the player's state is removed on disconnect
+        TokenBucket bucket = buckets.get(player.getUuid());
+        if (bucket == null || !bucket.markKicked()) {
+            return;
+        }
+
+        kickedPlayers.increment();
+        XeenaaVillagePicker.LOGGER.warn("Disconnecting player {} for flooding profession selection packets",
+            player.getName().getString());
+        player.getServer().execute(() -> player.networkHandler.disconnect(
+            Text.translatable("message.xeenaa_village_picker.rate_limited")));
+    }
+
+    /**
+     * Forget all state for a player, called on disconnect
+     */
+    public void remove(UUID playerId) {
+        buckets.remove(playerId);
+    }
+
+    /**
+     * Total number of packets rejected by the rate limiter
+     */
+    public long getRejectedPackets() {
+        return rejectedPackets.sum();
+    }
+
+    /**
+     * Total number of players disconnected for flooding
+     */
+    public long getKickedPlayers() {
+        return kickedPlayers.sum();
+    }
+
+    /**
+     * Number of players currently tracked
+     */
+    public int getTrackedPlayers() {
+        return buckets.size();
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private double villagerTokens;
+        private long lastRefillNanos;
+        private int violations;
+        private long firstViolationNanos;
+        private boolean kicked;
+
+        private TokenBucket(VillagePickerConfig.RateLimit config) {
+            this.tokens = config.burst;
+            this.villagerTokens = config.batchVillagerBurst;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire(int cost, int villagers, VillagePickerConfig.RateLimit config, long now) {
+            double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+            lastRefillNanos = now;
+            tokens = Math.min(config.burst, tokens + elapsedSeconds * config.refillPerSecond);
+            villagerTokens = Math.min(config.batchVillagerBurst,
+                villagerTokens + elapsedSeconds * config.batchVillagersPerSecond);
+            if (tokens >= cost && villagerTokens >= villagers) {
+                tokens -= cost;
+                villagerTokens -= villagers;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized int recordViolation(long now) {
+            if (violations == 0 || now - firstViolationNanos > VIOLATION_WINDOW_NANOS) {
+                violations = 0;
+                firstViolationNanos = now;
+            }
+            return ++violations;
+        }
+
+        synchronized boolean markKicked() {
+            if (kicked) {
+                return false;
+            }
+            kicked = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.xeenaa.villagepicker.server;
+
+import com.xeenaa.villagepicker.XeenaaVillagePicker;
+import com.xeenaa.villagepicker.audit.AuditLog;
+import com.xeenaa.villagepicker.metrics.VillagePickerMetrics;
+import com.xeenaa.villagepicker.permission.Capability;
+import com.xeenaa.villagepicker.permission.PermissionManager;
+import com.xeenaa.villagepicker.registry.ProfessionData;
+import com.xeenaa.villagepicker.rules.ProfessionRules;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.village.VillagerProfession;
+
+/**
+ * Validates and applies profession changes to villagers. All methods must run on the server thread.
+ */
+public class VillagerProfessionHelper {
+
+    /**
+     * Validate a single villager and change its profession
+     *
+     * @param player the requesting player, or null for operator assignments, which skip the distance,
+     *               permission and rule checks
+     * @return {@link ChangeResult#APPLIED} if the profession was changed, otherwise the rejection reason
+     */
+    public static ChangeResult tryChangeProfession(ServerPlayerEntity player, ServerWorld world, int villagerEntityId,
+                                                   ProfessionData professionData) {
+        // Find the villager entity
+        Entity entity = world.getEntityById(villagerEntityId);
+
+        if (!(entity instanceof VillagerEntity villager)) {
+            XeenaaVillagePicker.LOGGER.debug("Entity {} is not a villager or not found", villagerEntityId);
+            return ChangeResult.VILLAGER_NOT_FOUND;
+        }
+
+        // Validate the player can interact with this villager
+        ChangeResult validation = validate(player, villager);
+        if (validation != ChangeResult.APPLIED) {
+            XeenaaVillagePicker.LOGGER.debug("{} cannot change profession of villager {}: {}",
+                player != null ? player.getName().getString() : "Assignment", villagerEntityId, validation);
+            return validation;
+        }
+
+        // Rules apply to players only; operator assignments bypass them.
+        // Checked again here because the rules may have been reloaded while the change was queued.
+        if (player != null && !ProfessionRules.getInstance().isAllowed(player, professionData)) {
+            return ChangeResult.PROFESSION_NOT_ALLOWED;
+        }
+
+        // Change the villager's profession
+        VillagerProfession profession = professionData.getProfession();
+        VillagerProfession oldProfession = villager.getVillagerData().getProfession();
+        changeProfession(villager, profession);
+        AuditLog.record(player, villager, oldProfession, profession);
+        return ChangeResult.APPLIED;
+    }
+
+    /**
+     * Check if the player can change the profession of this villager
+     */
+    public static boolean canPlayerChangeProfession(ServerPlayerEntity player, VillagerEntity villager) {
+        return validate(player, villager) == ChangeResult.APPLIED;
+    }
+
+    /**
+     * Validate that the player may change the profession of this villager
+     *
+     * @return {@link ChangeResult#APPLIED} if allowed, otherwise the rejection reason
+     */
+    private static ChangeResult validate(ServerPlayerEntity player, VillagerEntity villager) {
+        // Basic validation checks
+        if (villager.isRemoved()) {
+            return ChangeResult.VILLAGER_REMOVED;
+        }
+
+        // Check if villager is a baby (babies cannot have professions changed)
+        if (villager.isBaby()) {
+            XeenaaVillagePicker.LOGGER.debug("Cannot change profession of baby villager");
+            return ChangeResult.BABY_VILLAGER;
+        }
+
+        // Operator assignments have no player to be near
+        if (player == null) {
+            return ChangeResult.APPLIED;
+        }
+
+        // Check distance (prevent cheating with distant villagers)
+        double distance = player.squaredDistanceTo(villager);
+        if (distance > 64.0) { // 8 block radius
+            XeenaaVillagePicker.LOGGER.debug("Player too far from villager: {} blocks", Math.sqrt(distance));
+            return ChangeResult.TOO_FAR;
+        }
+
+        // Checked again here because permissions may have been revoked while the change was queued
+        if (!PermissionManager.getInstance().has(player, Capability.CHANGE_PROFESSION)) {
+            return ChangeResult.NO_PERMISSION;
+        }
+        return ChangeResult.APPLIED;
+    }
+
+    /**
+     * Change a villager's profession
+     */
+    public static void changeProfession(VillagerEntity villager, VillagerProfession profession) {
+        long changeStart = VillagePickerMetrics.startTimer();
+
+        // Store the original profession and villager data for logging
+        VillagerProfession originalProfession = villager.getVillagerData().getProfession();
+        int originalLevel = villager.getVillagerData().getLevel();
+
+        // Apply profession change with trade locking for persistence
+        XeenaaVillagePicker.LOGGER.debug("Changing villager {} profession from {} to {}",
+            villager.getId(),
+            Registries.VILLAGER_PROFESSION.getId(originalProfession),
+            Registries.VILLAGER_PROFESSION.getId(profession));
+
+        // Set the new profession
+        villager.setVillagerData(villager.getVillagerData().withProfession(profession));
+
+        // Master level (250 XP) unlocks every trade tier and keeps vanilla from treating the villager as unemployed
+        villager.setExperience(250);
+        villager.setVillagerData(villager.getVillagerData().withLevel(5));
+
+        // Persistent lock: the villager keeps this profession even if it loses its workstation
+        ProfessionLock.lock(villager, profession);
+
+        // Reinitialize brain for normal AI behavior
+        long brainStart = VillagePickerMetrics.startTimer();
+        villager.reinitializeBrain((ServerWorld) villager.getWorld());
+        VillagePickerMetrics.recordSince(VillagePickerMetrics.REINITIALIZE_BRAIN, brainStart);
+
+        VillagePickerMetrics.recordSince(VillagePickerMetrics.CHANGE_PROFESSION, changeStart);
+    }
+
+}
\ No newline at end of file
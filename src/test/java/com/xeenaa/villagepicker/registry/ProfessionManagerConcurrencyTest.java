@@ -0,0 +1,116 @@
+package com.xeenaa.villagepicker.registry;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Readers on several threads keep reading the catalog while another thread swaps in catalogs of
+ * different sizes. Every snapshot a reader sees must be complete and internally consistent.
+ */
+class ProfessionManagerConcurrencyTest {
+    private static final int READERS = 8;
+    private static final int SWAPS = 200;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Test
+    void readersOnlySeeCompleteCatalogs() throws Exception {
+        ProfessionManager manager = ProfessionManager.getInstance();
+        manager.getCatalog();
+
+        // Two registries of different sizes, so a half-built catalog would show mismatched views
+        Map<Identifier, VillagerProfession> small = professions(0);
+        Map<Identifier, VillagerProfession> large = professions(100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        AtomicBoolean done = new AtomicBoolean(false);
+        CountDownLatch started = new CountDownLatch(READERS);
+        List<Future<Integer>> readers = new ArrayList<>();
+        try {
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    started.countDown();
+                    int reads = 0;
+                    int lastVersion = 0;
+                    while (!done.get()) {
+                        ProfessionCatalog catalog = manager.getCatalog();
+                        assertComplete(catalog);
+                        assertTrue(catalog.version() >= lastVersion, "catalog version went backwards");
+                        lastVersion = catalog.version();
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (int swap = 0; swap < SWAPS; swap++) {
+                manager.rebuildIfChanged(swap % 2 == 0 ? large : small);
+            }
+        } finally {
+            done.set(true);
+            executor.shutdown();
+        }
+
+        // Rethrows any assertion failure from a reader thread
+        for (Future<Integer> reader : readers) {
+            assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void assertComplete(ProfessionCatalog catalog) {
+        int size = catalog.size();
+        assertEquals(size, catalog.all().size());
+        assertEquals(size, catalog.vanilla().size() + catalog.modded().size());
+        assertEquals(size, catalog.registryIds().size());
+        assertEquals(size, catalog.entries().size());
+        for (int index = 0; index < size; index++) {
+            ProfessionData data = catalog.get(index);
+            assertEquals(index, data.getIndex());
+            assertSame(data, catalog.get(data.getId()));
+            assertEquals(data.getId(), catalog.entries().get(index).id());
+        }
+    }
+
+    /**
+     * The vanilla registry followed by the given number of synthetic modded professions
+     */
+    private static Map<Identifier, VillagerProfession> professions(int modded) {
+        Map<Identifier, VillagerProfession> professions = new LinkedHashMap<>();
+        for (VillagerProfession profession : Registries.VILLAGER_PROFESSION) {
+            professions.put(Registries.VILLAGER_PROFESSION.getId(profession), profession);
+        }
+        for (int i = 0; i < modded; i++) {
+            String path = "stress_" + i;
+            professions.put(Identifier.of("stressmod", path), new VillagerProfession(path, entry -> false,
+                entry -> false, ImmutableSet.of(), ImmutableSet.of(), null));
+        }
+        return professions;
+    }
+}